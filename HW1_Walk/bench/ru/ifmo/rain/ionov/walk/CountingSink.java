@@ -0,0 +1,20 @@
+package ru.ifmo.rain.ionov.walk;
+
+class CountingSink implements OutputSink {
+    long files;
+    long hashes;
+
+    @Override
+    public void write(long hash, String path) {
+        files++;
+        hashes ^= hash;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
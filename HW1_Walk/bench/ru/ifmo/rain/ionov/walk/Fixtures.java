@@ -0,0 +1,76 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+final class Fixtures {
+    private static final int VERSION = 1;
+    private static final Path ROOT = Paths.get(System.getProperty("walk.bench.dir", System.getProperty("java.io.tmpdir")), "walk-bench");
+
+    private Fixtures() {
+    }
+
+    static Path get(String name) throws IOException {
+        Path dir = ROOT.resolve(name);
+        Path marker = ROOT.resolve(name + ".v" + VERSION);
+        if (Files.exists(marker)) {
+            return dir;
+        }
+        Random random = new Random(name.hashCode());
+        switch (name) {
+            case "tiny":
+                for (int i = 0; i < 100; i++) {
+                    for (int j = 0; j < 200; j++) {
+                        file(dir.resolve("d" + i).resolve("f" + j), random.nextInt(512), random);
+                    }
+                }
+                break;
+            case "huge":
+                for (int i = 0; i < 4; i++) {
+                    file(dir.resolve("f" + i), 256L << 20, random);
+                }
+                break;
+            case "deep":
+                Path current = dir;
+                for (int i = 0; i < 64; i++) {
+                    current = current.resolve("d" + i);
+                    for (int j = 0; j < 16; j++) {
+                        file(current.resolve("f" + j), random.nextInt(16 << 10), random);
+                    }
+                }
+                break;
+            case "sparse":
+                for (int i = 0; i < 4; i++) {
+                    Files.createDirectories(dir);
+                    try (RandomAccessFile file = new RandomAccessFile(dir.resolve("f" + i).toFile(), "rw")) {
+                        file.setLength(256L << 20);
+                        file.seek((256L << 20) - 4096);
+                        byte[] tail = new byte[4096];
+                        random.nextBytes(tail);
+                        file.write(tail);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown fixture " + name);
+        }
+        Files.createFile(marker);
+        return dir;
+    }
+
+    private static void file(Path path, long size, Random random) throws IOException {
+        Files.createDirectories(path.getParent());
+        byte[] block = new byte[1 << 16];
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < size; written += block.length) {
+                random.nextBytes(block);
+                out.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class HashBenchmark {
+    @Param({"tiny", "huge", "deep", "sparse"})
+    public String fixture;
+
+    @Param({"fnv32", "fnv64", "xxh64", "tree"})
+    public String hash;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path root;
+    private long size;
+    private FileHasher hasher;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long files;
+        public long bytes;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        root = Fixtures.get(fixture);
+        hasher = FileHasher.forName(hash);
+        size = 0;
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                size += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public long walk(Counters counters) throws IOException {
+        CountingSink sink = new CountingSink();
+        try (HashPipeline pipeline = new HashPipeline(sink, threads, 1024, hasher::newEngine, null, null)) {
+            Files.walkFileTree(root, new Visitor(pipeline));
+        }
+        counters.files += sink.files;
+        counters.bytes += size;
+        return sink.hashes;
+    }
+}
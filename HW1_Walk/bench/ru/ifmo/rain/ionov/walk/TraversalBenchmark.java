@@ -0,0 +1,45 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class TraversalBenchmark {
+    @Param({"tiny", "deep"})
+    public String fixture;
+
+    private Path root;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long files;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        root = Fixtures.get(fixture);
+    }
+
+    @Benchmark
+    public void walkFileTree(Counters counters, Blackhole blackhole) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                counters.files++;
+                blackhole.consume(attrs);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
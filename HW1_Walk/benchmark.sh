@@ -0,0 +1,5 @@
+#!/bin/sh
+rm -rf benchmarks
+mkdir benchmarks
+javac -d benchmarks -cp "lib/*" $(find src/ru bench -name "*.java")
+java -cp "benchmarks:lib/*" org.openjdk.jmh.Main -prof gc "$@"
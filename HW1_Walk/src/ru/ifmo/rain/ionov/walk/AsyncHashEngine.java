@@ -0,0 +1,127 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class AsyncHashEngine implements HashEngine {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileHasher.State state;
+    private final ByteBuffer[] buffers;
+    private final Future<Integer>[] reads;
+
+    public AsyncHashEngine(FileHasher hasher, int window) {
+        state = hasher.newState();
+        buffers = new ByteBuffer[window];
+        for (int i = 0; i < window; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        reads = futures(window);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Future<Integer>[] futures(int size) {
+        return (Future<Integer>[]) new Future<?>[size];
+    }
+
+    @Override
+    public long hash(Path path) throws IOException {
+        state.reset();
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ)) {
+            try {
+                read(channel);
+            } finally {
+                drain();
+            }
+        }
+        return state.digest();
+    }
+
+    private void read(AsynchronousFileChannel channel) throws IOException {
+        long size = channel.size();
+        long issued = 0;
+        int head = 0;
+        int inFlight = 0;
+        for (; inFlight < buffers.length && issued < size; inFlight++) {
+            start(channel, inFlight, issued, size);
+            issued += BUFFER_SIZE;
+        }
+        long position = 0;
+        while (inFlight > 0) {
+            ByteBuffer buffer = buffers[head];
+            boolean eof = await(head) < 0;
+            while (!eof && buffer.hasRemaining()) {
+                eof = await(channel.read(buffer, position + buffer.position())) < 0;
+            }
+            buffer.flip();
+            state.update(buffer);
+            if (eof) {
+                return;
+            }
+            position += BUFFER_SIZE;
+            inFlight--;
+            if (issued < size) {
+                start(channel, head, issued, size);
+                issued += BUFFER_SIZE;
+                inFlight++;
+            }
+            head = (head + 1) % buffers.length;
+        }
+        ByteBuffer buffer = buffers[0];
+        for (position = size; ; position += buffer.position()) {
+            buffer.clear();
+            if (await(channel.read(buffer, position)) < 0) {
+                return;
+            }
+            buffer.flip();
+            state.update(buffer);
+        }
+    }
+
+    private void start(AsynchronousFileChannel channel, int slot, long position, long size) {
+        ByteBuffer buffer = buffers[slot];
+        buffer.clear();
+        buffer.limit((int) Math.min(BUFFER_SIZE, size - position));
+        reads[slot] = channel.read(buffer, position);
+    }
+
+    private int await(int slot) throws IOException {
+        Future<Integer> read = reads[slot];
+        reads[slot] = null;
+        return await(read);
+    }
+
+    private static int await(Future<Integer> read) throws IOException {
+        try {
+            return read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < reads.length; i++) {
+            if (reads[i] != null) {
+                try {
+                    reads[i].get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ignored) {
+                }
+                reads[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+public class BinarySink implements OutputSink {
+    private final DataOutputStream out;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+    public BinarySink(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    @Override
+    public void write(long hash, String path) throws IOException {
+        int size = (int) (path.length() * encoder.maxBytesPerChar()) + 1;
+        if (bytes.capacity() < size) {
+            bytes = ByteBuffer.allocate(size);
+        }
+        bytes.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(path), bytes, true);
+        encoder.flush(bytes);
+        out.writeLong(hash);
+        out.writeInt(bytes.position());
+        out.write(bytes.array(), 0, bytes.position());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+public class CachingHashEngine implements HashEngine {
+    private final HashCache cache;
+    private final HashEngine engine;
+
+    public CachingHashEngine(HashCache cache, HashEngine engine) {
+        this.cache = cache;
+        this.engine = engine;
+    }
+
+    @Override
+    public long hash(Path path) throws IOException {
+        return hash(path, Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    @Override
+    public long hash(Path path, BasicFileAttributes attrs) throws IOException {
+        if (!attrs.isRegularFile()) {
+            return engine.hash(path, attrs);
+        }
+        Long hash = cache.get(path, attrs);
+        if (hash == null) {
+            hash = engine.hash(path, attrs);
+            cache.put(path, attrs, hash);
+        }
+        return hash;
+    }
+}
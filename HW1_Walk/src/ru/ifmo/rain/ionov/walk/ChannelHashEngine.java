@@ -0,0 +1,36 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ChannelHashEngine implements HashEngine {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final FileHasher.State state;
+
+    public ChannelHashEngine(FileHasher hasher) {
+        state = hasher.newState();
+    }
+
+    @Override
+    public long hash(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return hash(channel);
+        }
+    }
+
+    long hash(FileChannel channel) throws IOException {
+        state.reset();
+        buffer.clear();
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            state.update(buffer);
+            buffer.clear();
+        }
+        return state.digest();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+class Checkpoint {
+    private static final int MAGIC = 0x57434b50;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final int interval;
+    private OutputSink sink;
+    private FileChannel output;
+    private long resumeRoot = -1;
+    private long resumeLines;
+    private long root = -1;
+    private long lines;
+    private int unsaved;
+
+    Checkpoint(Path file, int interval) {
+        this.file = file;
+        this.interval = interval;
+    }
+
+    boolean resume(Path out) throws IOException {
+        if (!Files.exists(file) || !Files.exists(out)) {
+            return false;
+        }
+        long offset;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            resumeRoot = in.readLong();
+            resumeLines = in.readLong();
+            offset = in.readLong();
+        } catch (EOFException e) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.WRITE)) {
+            if (channel.size() < offset) {
+                resumeRoot = -1;
+                return false;
+            }
+            channel.truncate(offset);
+        }
+        root = resumeRoot;
+        lines = resumeLines;
+        return true;
+    }
+
+    void attach(OutputSink sink, FileChannel output) {
+        this.sink = sink;
+        this.output = output;
+    }
+
+    long skip(long root) {
+        if (root < resumeRoot) {
+            return -1;
+        }
+        return root == resumeRoot ? resumeLines : 0;
+    }
+
+    void written(long root) throws IOException {
+        if (root != this.root) {
+            this.root = root;
+            lines = 0;
+        }
+        lines++;
+        if (++unsaved >= interval) {
+            save();
+        }
+    }
+
+    private void save() throws IOException {
+        sink.flush();
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(root);
+                out.writeLong(lines);
+                out.writeLong(output.position());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        unsaved = 0;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+public class DuplicateFinder {
+    private static final int PREFIX_SIZE = 4096;
+    private static final List<String> OPTIONS = Arrays.asList("-threads", "-hash", "-format", "-io", "-inflight");
+
+    private final ExecutorService workers;
+    private final ThreadLocal<HashEngine> engines;
+    private final ThreadLocal<FileHasher.State> states;
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(PREFIX_SIZE));
+    private final Map<Long, List<Path>> sizes = new HashMap<>();
+    private final Set<Path> seen = new HashSet<>();
+
+    public DuplicateFinder(FileHasher hasher, int threads) {
+        this(hasher, hasher::newEngine, threads);
+    }
+
+    DuplicateFinder(FileHasher hasher, Supplier<HashEngine> engine, int threads) {
+        workers = Executors.newFixedThreadPool(threads);
+        engines = ThreadLocal.withInitial(engine);
+        states = ThreadLocal.withInitial(hasher::newState);
+    }
+
+    public void add(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && attrs.size() > 0 && seen.add(file.toAbsolutePath().normalize())) {
+                    sizes.computeIfAbsent(attrs.size(), size -> new ArrayList<>()).add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    public void find(OutputSink sink) throws IOException, InterruptedException {
+        List<Long> order = new ArrayList<>(sizes.keySet());
+        order.sort(Comparator.reverseOrder());
+        for (long size : order) {
+            List<Path> files = sizes.get(size);
+            if (files.size() < 2) {
+                continue;
+            }
+            Map<Long, List<Path>> prefixes = group(files, this::prefix);
+            if (size <= PREFIX_SIZE) {
+                write(prefixes, sink);
+                continue;
+            }
+            for (List<Path> candidates : prefixes.values()) {
+                if (candidates.size() > 1) {
+                    write(group(candidates, path -> engines.get().hash(path)), sink);
+                }
+            }
+        }
+    }
+
+    private static void write(Map<Long, List<Path>> groups, OutputSink sink) throws IOException {
+        for (Map.Entry<Long, List<Path>> group : groups.entrySet()) {
+            if (group.getValue().size() > 1) {
+                for (Path path : group.getValue()) {
+                    sink.write(group.getKey(), path.toString());
+                }
+            }
+        }
+    }
+
+    private Map<Long, List<Path>> group(List<Path> files, HashFunction function) throws InterruptedException {
+        List<Future<Long>> hashes = new ArrayList<>();
+        for (Path file : files) {
+            hashes.add(workers.submit(() -> function.hash(file)));
+        }
+        Map<Long, List<Path>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                groups.computeIfAbsent(hashes.get(i).get(), hash -> new ArrayList<>()).add(files.get(i));
+            } catch (ExecutionException ignored) {
+            }
+        }
+        return groups;
+    }
+
+    private long prefix(Path path) throws IOException {
+        FileHasher.State state = states.get();
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            }
+        }
+        buffer.flip();
+        state.reset();
+        state.update(buffer);
+        return state.digest();
+    }
+
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private interface HashFunction {
+        long hash(Path path) throws IOException;
+    }
+
+    public static void main(String[] args) {
+        if (args == null || args.length < 2 || args[0] == null || args[1] == null) {
+            System.out.println("Error: expected 2 arguments: input file name and output file name");
+            return;
+        }
+        WalkOptions options;
+        try {
+            options = WalkOptions.parse(args, 2, new XxHash64Hasher(), OPTIONS);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
+        DuplicateFinder finder = new DuplicateFinder(options.hasher, options::newEngine, options.threads);
+        try (
+                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(args[0]), "UTF-8"));
+                OutputSink sink = OutputSink.open(options.format, new FileOutputStream(args[1]), options.hasher.digits())
+        ) {
+            String s;
+            while ((s = bufferedReader.readLine()) != null) {
+                try {
+                    finder.add(Paths.get(s));
+                } catch (IOException | InvalidPathException e) {
+                    System.out.println("Error: Can't walk " + s);
+                }
+            }
+            finder.find(sink);
+        } catch (IOException ex) {
+            System.out.println("Error: Can't find input/output file");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finder.close();
+        }
+    }
+}
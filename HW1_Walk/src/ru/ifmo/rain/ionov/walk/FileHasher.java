@@ -0,0 +1,43 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.nio.ByteBuffer;
+import java.util.ServiceLoader;
+
+public interface FileHasher {
+    String name();
+
+    int digits();
+
+    State newState();
+
+    default HashEngine newEngine() {
+        return new ChannelHashEngine(this);
+    }
+
+    static FileHasher forName(String name) {
+        switch (name) {
+            case "fnv32":
+                return new Fnv32Hasher();
+            case "fnv64":
+                return new Fnv64Hasher();
+            case "xxh64":
+                return new XxHash64Hasher();
+            case "tree":
+                return new TreeHasher(new XxHash64Hasher());
+        }
+        for (FileHasher hasher : ServiceLoader.load(FileHasher.class)) {
+            if (hasher.name().equals(name)) {
+                return hasher;
+            }
+        }
+        throw new IllegalArgumentException("unknown hash " + name);
+    }
+
+    interface State {
+        void reset();
+
+        void update(ByteBuffer buffer);
+
+        long digest();
+    }
+}
@@ -0,0 +1,46 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.nio.ByteBuffer;
+
+public class Fnv32Hasher implements FileHasher {
+    private static final int INITIAL = 0x811c9dc5;
+    private static final int PRIME = 0x01000193;
+
+    @Override
+    public String name() {
+        return "fnv32";
+    }
+
+    @Override
+    public int digits() {
+        return 8;
+    }
+
+    @Override
+    public State newState() {
+        return new State() {
+            private int hval = INITIAL;
+
+            @Override
+            public void reset() {
+                hval = INITIAL;
+            }
+
+            @Override
+            public void update(ByteBuffer buffer) {
+                int h = hval;
+                int limit = buffer.limit();
+                for (int i = buffer.position(); i < limit; i++) {
+                    h = (h * PRIME) ^ (buffer.get(i) & 255);
+                }
+                buffer.position(limit);
+                hval = h;
+            }
+
+            @Override
+            public long digest() {
+                return hval & 0xffffffffL;
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.nio.ByteBuffer;
+
+public class Fnv64Hasher implements FileHasher {
+    private static final long INITIAL = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    @Override
+    public String name() {
+        return "fnv64";
+    }
+
+    @Override
+    public int digits() {
+        return 16;
+    }
+
+    @Override
+    public State newState() {
+        return new State() {
+            private long hval = INITIAL;
+
+            @Override
+            public void reset() {
+                hval = INITIAL;
+            }
+
+            @Override
+            public void update(ByteBuffer buffer) {
+                long h = hval;
+                int limit = buffer.limit();
+                for (int i = buffer.position(); i < limit; i++) {
+                    h = (h * PRIME) ^ (buffer.get(i) & 255);
+                }
+                buffer.position(limit);
+                hval = h;
+            }
+
+            @Override
+            public long digest() {
+                return hval;
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ForkJoinWalker implements Closeable {
+    private static final int SURPLUS = 3;
+
+    private final ForkJoinPool pool;
+
+    public ForkJoinWalker(int threads) {
+        pool = new ForkJoinPool(threads);
+    }
+
+    public void walk(Path root, HashPipeline pipeline) throws IOException {
+        Listing listing = new Listing();
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(root, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (attrs.isDirectory()) {
+                listing = pool.invoke(new ListTask(root));
+            } else {
+                listing.add(root, attrs);
+            }
+        } catch (IOException e) {
+            listing.failed = true;
+        }
+        for (int i = 0; i < listing.paths.size(); i++) {
+            pipeline.file(listing.paths.get(i), listing.attrs.get(i));
+        }
+        if (listing.failed) {
+            throw new IOException("Can't walk " + root);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static class Listing {
+        private final List<Path> paths = new ArrayList<>();
+        private final List<BasicFileAttributes> attrs = new ArrayList<>();
+        private boolean failed;
+
+        private void add(Path path, BasicFileAttributes attrs) {
+            paths.add(path);
+            this.attrs.add(attrs);
+        }
+
+        private void addAll(Listing listing) {
+            paths.addAll(listing.paths);
+            attrs.addAll(listing.attrs);
+            failed = listing.failed;
+        }
+    }
+
+    private static class ListTask extends RecursiveTask<Listing> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+
+        private ListTask(Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected Listing compute() {
+            List<Object> parts = new ArrayList<>();
+            boolean failed = false;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (!attrs.isDirectory()) {
+                        parts.add(path);
+                        parts.add(attrs);
+                    } else if (getSurplusQueuedTaskCount() < SURPLUS) {
+                        parts.add(new ListTask(path).fork());
+                    } else {
+                        Listing listing = new ListTask(path).compute();
+                        parts.add(listing);
+                        if (listing.failed) {
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                failed = true;
+            }
+            Listing result = new Listing();
+            for (int i = 0; i < parts.size() && !result.failed; i++) {
+                Object part = parts.get(i);
+                if (part instanceof Path) {
+                    result.add((Path) part, (BasicFileAttributes) parts.get(++i));
+                } else if (part instanceof ListTask) {
+                    result.addAll(((ListTask) part).join());
+                } else {
+                    result.addAll((Listing) part);
+                }
+            }
+            result.failed |= failed;
+            if (result.failed) {
+                parts.stream().filter(part -> part instanceof ListTask).forEach(task -> ((ListTask) task).cancel(false));
+            }
+            return result;
+        }
+    }
+}
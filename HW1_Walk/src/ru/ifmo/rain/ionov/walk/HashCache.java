@@ -0,0 +1,113 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class HashCache {
+    private static final int MAGIC = 0x57414c4b;
+    private static final int VERSION = 2;
+
+    private final Path file;
+    private final String hasher;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private HashCache(Path file, String hasher) {
+        this.file = file;
+        this.hasher = hasher;
+    }
+
+    public static HashCache load(Path file, String hasher) throws IOException {
+        HashCache cache = new HashCache(file, hasher);
+        if (!Files.exists(file)) {
+            return cache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(hasher)) {
+                return cache;
+            }
+            for (int count = in.readInt(); count > 0; count--) {
+                String path = in.readUTF();
+                cache.entries.put(path, new Entry(in.readLong(), in.readLong(), in.readUTF(), in.readLong()));
+            }
+        } catch (EOFException | UTFDataFormatException e) {
+            cache.entries.clear();
+        }
+        return cache;
+    }
+
+    Long get(Path path, BasicFileAttributes attrs) {
+        Entry entry = entries.get(key(path));
+        if (entry == null || !entry.matches(attrs)) {
+            return null;
+        }
+        entry.seen = true;
+        return entry.hash;
+    }
+
+    void put(Path path, BasicFileAttributes attrs, long hash) {
+        Entry entry = new Entry(attrs.size(), modified(attrs), fileKey(attrs), hash);
+        entry.seen = true;
+        entries.put(key(path), entry);
+    }
+
+    public void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(hasher);
+                entries.entrySet().removeIf(e -> !e.getValue().seen && !Files.exists(Paths.get(e.getKey()), LinkOption.NOFOLLOW_LINKS));
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeUTF(entry.fileKey);
+                    out.writeLong(entry.hash);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String key(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    private static long modified(BasicFileAttributes attrs) {
+        return attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    private static String fileKey(BasicFileAttributes attrs) {
+        Object key = attrs.fileKey();
+        return key == null ? "" : key.toString();
+    }
+
+    private static class Entry {
+        private final long size;
+        private final long modified;
+        private final String fileKey;
+        private final long hash;
+        private volatile boolean seen;
+
+        private Entry(long size, long modified, String fileKey, long hash) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.hash = hash;
+        }
+
+        private boolean matches(BasicFileAttributes attrs) {
+            return size == attrs.size() && modified == modified(attrs) && fileKey.equals(fileKey(attrs));
+        }
+    }
+}
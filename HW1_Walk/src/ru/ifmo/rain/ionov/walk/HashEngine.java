@@ -0,0 +1,13 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+public interface HashEngine {
+    long hash(Path path) throws IOException;
+
+    default long hash(Path path, BasicFileAttributes attrs) throws IOException {
+        return hash(path);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class HashPipeline implements Closeable {
+    private final OrderedWriter writer;
+    private final ThreadPoolExecutor workers;
+    private final WalkMetrics metrics;
+    private final ThreadLocal<HashEngine> engines;
+    private final Map<Object, CompletableFuture<Long>> shared = new ConcurrentHashMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean share;
+    private long root;
+    private long skip;
+
+    public HashPipeline(OutputSink sink, int threads, int capacity, Supplier<HashEngine> engine, WalkMetrics metrics, Checkpoint checkpoint) {
+        this.writer = new OrderedWriter(sink, capacity, checkpoint);
+        this.metrics = metrics;
+        engines = ThreadLocal.withInitial(engine);
+        workers = threads > 1 ? new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) : null;
+        if (metrics != null) {
+            metrics.gauges(() -> workers == null ? 0 : workers.getQueue().size(), writer::pending);
+        }
+    }
+
+    public void share(boolean share) {
+        this.share = share;
+    }
+
+    public void root(long root, long skip) {
+        this.root = root;
+        this.skip = skip;
+    }
+
+    public void file(Path path, BasicFileAttributes attrs) throws IOException {
+        if (skip > 0) {
+            skip--;
+            return;
+        }
+        final long index = writer.reserve(root);
+        final boolean share = this.share;
+        if (workers == null) {
+            write(index, path, attrs, share);
+        } else {
+            workers.execute(() -> write(index, path, attrs, share));
+        }
+    }
+
+    private void write(long index, Path path, BasicFileAttributes attrs, boolean share) {
+        long hash = 0;
+        try {
+            hash = hash(path, attrs, share);
+        } catch (Throwable e) {
+            if (!failure.compareAndSet(null, e) && failure.get() != e) {
+                failure.get().addSuppressed(e);
+            }
+        } finally {
+            writer.write(index, hash, path.toString());
+        }
+    }
+
+    public void error(String path) throws IOException {
+        if (skip > 0) {
+            skip--;
+            return;
+        }
+        if (metrics != null) {
+            metrics.error();
+        }
+        writer.write(writer.reserve(root), 0, path);
+    }
+
+    private long hash(Path path, BasicFileAttributes attrs, boolean share) {
+        if (!share) {
+            return hash(path, attrs);
+        }
+        Object key = attrs.fileKey() != null ? attrs.fileKey() : path.toAbsolutePath().normalize();
+        CompletableFuture<Long> hash = new CompletableFuture<>();
+        CompletableFuture<Long> previous = shared.putIfAbsent(key, hash);
+        if (previous != null) {
+            try {
+                return previous.join();
+            } catch (CompletionException e) {
+                return 0;
+            }
+        }
+        try {
+            hash.complete(hash(path, attrs));
+        } catch (Throwable e) {
+            hash.completeExceptionally(e);
+            throw e;
+        }
+        return hash.join();
+    }
+
+    private long hash(Path path, BasicFileAttributes attrs) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        boolean error = true;
+        try {
+            long hash = engines.get().hash(path, attrs);
+            error = false;
+            return hash;
+        } catch (IOException e) {
+            return 0;
+        } finally {
+            if (metrics != null) {
+                metrics.record(attrs.size(), System.nanoTime() - start, error);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while hashing files");
+            }
+        }
+        Throwable e = failure.get();
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e != null) {
+            throw (RuntimeException) e;
+        }
+        writer.await();
+    }
+}
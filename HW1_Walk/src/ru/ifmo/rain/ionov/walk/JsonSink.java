@@ -0,0 +1,48 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+public class JsonSink implements OutputSink {
+    private static final char[] ESCAPE = "\\u00".toCharArray();
+
+    private final Writer writer;
+    private final char[] prefix;
+    private final int digits;
+
+    public JsonSink(OutputStream out, int digits) {
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        prefix = ("{\"hash\":\"" + new String(new char[digits]) + "\",\"path\":\"").toCharArray();
+        this.digits = digits;
+    }
+
+    @Override
+    public void write(long hash, String path) throws IOException {
+        TextSink.hex(hash, prefix, 9, digits);
+        writer.write(prefix);
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(ESCAPE);
+                writer.write(Character.forDigit(c >> 4, 16));
+                writer.write(Character.forDigit(c & 15, 16));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write("\"}\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,83 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+class OrderedWriter {
+    private final OutputSink sink;
+    private final Checkpoint checkpoint;
+    private final int capacity;
+    private final long[] roots;
+    private final long[] hashes;
+    private final String[] paths;
+    private long issued;
+    private long next;
+    private IOException error;
+
+    OrderedWriter(OutputSink sink, int capacity, Checkpoint checkpoint) {
+        this.sink = sink;
+        this.checkpoint = checkpoint;
+        this.capacity = capacity;
+        roots = new long[capacity];
+        hashes = new long[capacity];
+        paths = new String[capacity];
+    }
+
+    synchronized long reserve(long root) throws IOException {
+        checkError();
+        try {
+            while (issued - next >= capacity) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for output");
+        }
+        checkError();
+        roots[(int) (issued % capacity)] = root;
+        return issued++;
+    }
+
+    synchronized void write(long index, long hash, String path) {
+        int slot = (int) (index % capacity);
+        hashes[slot] = hash;
+        paths[slot] = path;
+        while (next < issued && paths[slot = (int) (next % capacity)] != null) {
+            if (error == null) {
+                try {
+                    sink.write(hashes[slot], paths[slot]);
+                    if (checkpoint != null) {
+                        checkpoint.written(roots[slot]);
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            paths[slot] = null;
+            next++;
+        }
+        notifyAll();
+    }
+
+    synchronized long pending() {
+        return issued - next;
+    }
+
+    synchronized void await() throws IOException {
+        try {
+            while (next < issued) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for output");
+        }
+        checkError();
+    }
+
+    private void checkError() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OutputSink extends Flushable, Closeable {
+    void write(long hash, String path) throws IOException;
+
+    static OutputSink open(String format, OutputStream out, int digits) {
+        switch (format) {
+            case "text":
+                return new TextSink(out, digits);
+            case "json":
+                return new JsonSink(out, digits);
+            case "binary":
+                return new BinarySink(out);
+        }
+        throw new IllegalArgumentException("unknown format " + format);
+    }
+}
@@ -1,22 +1,66 @@
 package ru.ifmo.rain.ionov.walk;
 
+import javax.management.JMException;
 import java.io.*;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 public class RecursiveWalk {
-    private static void recursiveWalk(String s, BufferedWriter bufferedWriter) throws IOException {
+    private static void recursiveWalk(String s, HashPipeline pipeline, ForkJoinWalker walker) throws IOException {
         try {
             Path filePath = Paths.get(s);
             try {
-                Files.walkFileTree(filePath, new Visitor(bufferedWriter));
+                if (walker != null) {
+                    walker.walk(filePath, pipeline);
+                } else {
+                    Files.walkFileTree(filePath, new Visitor(pipeline));
+                }
+            } catch (InterruptedIOException e) {
+                throw e;
             } catch (IOException e) {
-                bufferedWriter.write(String.format("%08x", 0) + " " + s + "\n");
+                pipeline.error(s);
             }
         } catch (InvalidPathException e) {
-            bufferedWriter.write(String.format("%08x", 0) + " " + s + "\n");
+            pipeline.error(s);
         }
     }
 
+    private static void recursiveWalk(long index, String s, boolean shared, HashPipeline pipeline, ForkJoinWalker walker, Checkpoint checkpoint) throws IOException {
+        long skip = checkpoint == null ? 0 : checkpoint.skip(index);
+        if (skip >= 0) {
+            pipeline.root(index, skip);
+            pipeline.share(shared);
+            recursiveWalk(s, pipeline, walker);
+        }
+    }
+
+    private static Supplier<HashEngine> engine(WalkOptions options, HashCache cache) {
+        if (cache == null) {
+            return options::newEngine;
+        }
+        return () -> new CachingHashEngine(cache, options.newEngine());
+    }
+
+    private static WalkMetrics metrics(WalkOptions options) {
+        if (!options.jmx && options.progress == 0) {
+            return null;
+        }
+        WalkMetrics metrics = new WalkMetrics();
+        if (options.jmx) {
+            try {
+                metrics.register();
+            } catch (JMException e) {
+                System.err.println("Error: Can't register metrics MBean: " + e.getMessage());
+            }
+        }
+        if (options.progress > 0) {
+            metrics.report(System.err, options.progress);
+        }
+        return metrics;
+    }
+
     public static void main(String[] args) {
         if (args == null) {
             System.out.println("Error: args = null");
@@ -34,20 +78,84 @@ public class RecursiveWalk {
             System.out.println("Error: output file null");
             return;
         }
+        WalkOptions options;
+        try {
+            options = WalkOptions.parse(args, 2, WalkOptions.NAMES);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
+        HashCache cache = null;
+        if (options.cache != null) {
+            try {
+                cache = HashCache.load(Paths.get(options.cache), options.hasher.name());
+            } catch (IOException | InvalidPathException e) {
+                System.out.println("Error: Can't read hash cache");
+                return;
+            }
+        }
+        Checkpoint checkpoint = null;
+        boolean resume = false;
+        if (options.checkpoint != null) {
+            try {
+                checkpoint = new Checkpoint(Paths.get(options.checkpoint), options.checkpointInterval);
+                resume = checkpoint.resume(Paths.get(args[1]));
+            } catch (IOException | InvalidPathException e) {
+                System.out.println("Error: Can't read checkpoint");
+                return;
+            }
+        }
         try (
                 BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(args[0]), "UTF-8"));
-                BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"))
+                FileOutputStream output = new FileOutputStream(args[1], resume);
+                OutputSink sink = OutputSink.open(options.format, output, options.hasher.digits())
         ) {
-            String s;
-            while ((s = bufferedReader.readLine()) != null) {
-                try {
-                    recursiveWalk(s, bufferedWriter);
-                } catch (IOException e) {
-                    System.out.println("Error: Can't write to output file");
+            if (checkpoint != null) {
+                checkpoint.attach(sink, output.getChannel());
+            }
+            ForkJoinWalker walker = options.forkJoin ? new ForkJoinWalker(options.listers) : null;
+            WalkMetrics metrics = metrics(options);
+            try {
+                try (HashPipeline pipeline = new HashPipeline(sink, options.threads, options.queue, engine(options, cache), metrics, checkpoint)) {
+                    if (options.batch) {
+                        List<String> roots = new ArrayList<>();
+                        String s;
+                        while ((s = bufferedReader.readLine()) != null) {
+                            roots.add(s);
+                        }
+                        WalkPlan plan = new WalkPlan(roots);
+                        for (int i = 0; i < plan.size(); i++) {
+                            recursiveWalk(i, plan.root(i), plan.shared(i), pipeline, walker, checkpoint);
+                        }
+                    } else {
+                        String s;
+                        for (long i = 0; (s = bufferedReader.readLine()) != null; i++) {
+                            recursiveWalk(i, s, false, pipeline, walker, checkpoint);
+                        }
+                    }
+                }
+                if (checkpoint != null) {
+                    checkpoint.delete();
+                }
+            } catch (IOException e) {
+                System.out.println("Error: Can't write to output file");
+            } finally {
+                if (walker != null) {
+                    walker.close();
+                }
+                if (metrics != null) {
+                    metrics.close();
                 }
             }
         } catch (IOException ex) {
             System.out.println("Error: Can't find input/output file");
         }
+        if (cache != null) {
+            try {
+                cache.save();
+            } catch (IOException e) {
+                System.out.println("Error: Can't write hash cache");
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+public class TextSink implements OutputSink {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private final char[] prefix;
+    private final int digits;
+
+    public TextSink(OutputStream out, int digits) {
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        prefix = new char[digits + 1];
+        prefix[digits] = ' ';
+        this.digits = digits;
+    }
+
+    static void hex(long hash, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) hash & 15];
+            hash >>>= 4;
+        }
+    }
+
+    @Override
+    public void write(long hash, String path) throws IOException {
+        hex(hash, prefix, 0, digits);
+        writer.write(prefix);
+        writer.write(path);
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+
+public class TreeHashEngine implements HashEngine {
+    private static final long CHUNK_SIZE = 1 << 24;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileHasher leaf;
+    private final ChannelHashEngine engine;
+    private final FileHasher.State root;
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    public TreeHashEngine(FileHasher leaf) {
+        this.leaf = leaf;
+        engine = new ChannelHashEngine(leaf);
+        root = leaf.newState();
+    }
+
+    @Override
+    public long hash(Path path) throws IOException {
+        long[] chunks;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= CHUNK_SIZE) {
+                chunks = new long[]{engine.hash(channel)};
+            } else {
+                try {
+                    chunks = LongStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                            .map(i -> hashChunk(channel, i * CHUNK_SIZE, Math.min(CHUNK_SIZE, size - i * CHUNK_SIZE)))
+                            .toArray();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+        ByteBuffer digests = ByteBuffer.allocate(chunks.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (long chunk : chunks) {
+            digests.putLong(chunk);
+        }
+        digests.flip();
+        root.reset();
+        root.update(digests);
+        return root.digest();
+    }
+
+    private long hashChunk(FileChannel channel, long position, long size) {
+        FileHasher.State state = leaf.newState();
+        ByteBuffer buffer = buffers.get();
+        try {
+            for (long end = position + size; position < end; ) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+                buffer.flip();
+                state.update(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state.digest();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.ifmo.rain.ionov.walk;
+
+public class TreeHasher implements FileHasher {
+    private final FileHasher leaf;
+
+    public TreeHasher(FileHasher leaf) {
+        this.leaf = leaf;
+    }
+
+    @Override
+    public String name() {
+        return "tree";
+    }
+
+    @Override
+    public int digits() {
+        return leaf.digits();
+    }
+
+    @Override
+    public State newState() {
+        return leaf.newState();
+    }
+
+    @Override
+    public HashEngine newEngine() {
+        return new TreeHashEngine(leaf);
+    }
+}
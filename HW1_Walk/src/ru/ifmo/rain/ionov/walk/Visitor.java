@@ -5,27 +5,14 @@ import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 
 public class Visitor extends SimpleFileVisitor<Path> {
-    private BufferedWriter bufferedWriter;
+    private HashPipeline pipeline;
 
-    public Visitor(BufferedWriter bufferedWriter) {
-        this.bufferedWriter = bufferedWriter;
+    public Visitor(HashPipeline pipeline) {
+        this.pipeline = pipeline;
     }
 
     public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
-        int blockSize = 1024;
-        int x0 = 0x01000193;
-        int hval = 0x811c9dc5;
-        try (InputStream reader = new FileInputStream(path.toString())) {
-            while (reader.available() > 0) {
-                byte[] block = new byte[blockSize];
-                int size = reader.read(block, 0, blockSize);
-                for (int i = 0; i < size; i++)
-                    hval = (hval * x0) ^ (block[i] & 255);
-            }
-            bufferedWriter.write(String.format("%08x", hval) + " " + path + "\n");
-        } catch (IOException e) {
-            bufferedWriter.write(String.format("%08x", 0) + " " + path + "\n");
-        }
+        pipeline.file(path, attrs);
         return FileVisitResult.CONTINUE;
     }
 }
@@ -1,8 +1,14 @@
 package ru.ifmo.rain.ionov.walk;
 
 import java.io.*;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 public class Walk {
+    private static final List<String> OPTIONS = Arrays.asList("-hash", "-format", "-io", "-inflight");
+
     public static void main(String[] args) {
         if (args == null) {
             System.out.println("Error: args = null");
@@ -20,26 +26,27 @@ public class Walk {
             System.out.println("Error: output file null");
             return;
         }
+        WalkOptions options;
+        try {
+            options = WalkOptions.parse(args, 2, OPTIONS);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
         try (
                 BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(args[0]), "UTF-8"));
-                BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"));
+                OutputSink sink = OutputSink.open(options.format, new FileOutputStream(args[1]), options.hasher.digits())
         ) {
-            String s = "";
+            HashEngine engine = options.newEngine();
+            String s;
             while ((s = bufferedReader.readLine()) != null) {
-                int blockSize = 1024;
-                int x0 = 0x01000193;
-                int hval = 0x811c9dc5;
-                try (InputStream reader = new FileInputStream(s)) {
-                    while (reader.available() > 0) {
-                        byte[] block = new byte[blockSize];
-                        int size = reader.read(block, 0, blockSize);
-                        for (int i = 0; i < size; i++)
-                            hval = (hval * x0) ^ (block[i] & 255);
-                    }
-                    bufferedWriter.write(String.format("%08x", hval) + " " + s + "\n");
-                } catch (IOException e) {
-                    bufferedWriter.write(String.format("%08x", 0) + " " + s + "\n");
+                long hval;
+                try {
+                    hval = engine.hash(Paths.get(s));
+                } catch (IOException | InvalidPathException e) {
+                    hval = 0;
                 }
+                sink.write(hval, s);
             }
         } catch (IOException ex) {
             System.out.println("Error: Can't find input/output file");
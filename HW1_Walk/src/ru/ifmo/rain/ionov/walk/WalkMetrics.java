@@ -0,0 +1,144 @@
+package ru.ifmo.rain.ionov.walk;
+
+import javax.management.*;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class WalkMetrics implements WalkMetricsMBean, AutoCloseable {
+    private static final String NAME = "ru.ifmo.rain.ionov.walk:type=WalkMetrics";
+    private static final int BUCKETS = 32;
+
+    private final long start = System.nanoTime();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+    private volatile LongSupplier queueDepth = () -> 0;
+    private volatile LongSupplier pendingOutput = () -> 0;
+    private ObjectName name;
+    private ScheduledExecutorService reporter;
+    private PrintStream out;
+
+    void record(long size, long nanos, boolean error) {
+        files.increment();
+        bytes.add(size);
+        if (error) {
+            errors.increment();
+        }
+        latencies.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1000)));
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    void gauges(LongSupplier queueDepth, LongSupplier pendingOutput) {
+        this.queueDepth = queueDepth;
+        this.pendingOutput = pendingOutput;
+    }
+
+    public void register() throws JMException {
+        name = new ObjectName(NAME);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    }
+
+    public void report(PrintStream out, long seconds) {
+        this.out = out;
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "walk-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.println(summary()), seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    String summary() {
+        return String.format("files=%d (%.0f/s) bytes=%d (%.1f MB/s) errors=%d queue=%d pending=%d latency p50<%dus p99<%dus",
+                getFiles(), getFilesPerSecond(), getBytes(), getBytesPerSecond() / (1 << 20), getErrors(),
+                getQueueDepth(), getPendingOutput(), percentile(0.5), percentile(0.99));
+    }
+
+    private long percentile(double p) {
+        long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen > 0 && seen >= total * p) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    private double seconds() {
+        return Math.max(1, System.nanoTime() - start) / 1e9;
+    }
+
+    @Override
+    public long getFiles() {
+        return files.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getFilesPerSecond() {
+        return getFiles() / seconds();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return getBytes() / seconds();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return queueDepth.getAsLong();
+    }
+
+    @Override
+    public long getPendingOutput() {
+        return pendingOutput.getAsLong();
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = latencies.get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            out.println(summary());
+        }
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException ignored) {
+            }
+        }
+    }
+}
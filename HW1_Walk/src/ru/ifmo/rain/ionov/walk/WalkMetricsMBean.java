@@ -0,0 +1,19 @@
+package ru.ifmo.rain.ionov.walk;
+
+public interface WalkMetricsMBean {
+    long getFiles();
+
+    long getBytes();
+
+    long getErrors();
+
+    double getFilesPerSecond();
+
+    double getBytesPerSecond();
+
+    long getQueueDepth();
+
+    long getPendingOutput();
+
+    long[] getLatencyHistogram();
+}
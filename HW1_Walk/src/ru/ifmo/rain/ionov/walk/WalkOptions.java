@@ -0,0 +1,125 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.util.Arrays;
+import java.util.List;
+
+class WalkOptions {
+    static final List<String> NAMES = Arrays.asList("-threads", "-queue", "-cache", "-hash", "-format", "-traversal",
+            "-listers", "-batch", "-jmx", "-progress", "-io", "-inflight", "-checkpoint", "-checkpoint-interval");
+
+    int threads = 1;
+    int queue = 1024;
+    String cache;
+    FileHasher hasher;
+    String format = "text";
+    boolean forkJoin;
+    boolean batch;
+    boolean jmx;
+    int progress;
+    boolean async;
+    int inflight = 8;
+    String checkpoint;
+    int checkpointInterval = 10000;
+    int listers = Runtime.getRuntime().availableProcessors();
+
+    static WalkOptions parse(String[] args, int from, List<String> supported) {
+        return parse(args, from, new Fnv32Hasher(), supported);
+    }
+
+    static WalkOptions parse(String[] args, int from, FileHasher hasher, List<String> supported) {
+        WalkOptions options = new WalkOptions();
+        options.hasher = hasher;
+        for (int i = from; i < args.length; i++) {
+            String name = args[i];
+            if (name == null) {
+                throw new IllegalArgumentException("option null");
+            }
+            if (!supported.contains(name)) {
+                throw new IllegalArgumentException("unknown option " + name + ", supported options: " + String.join(" ", supported));
+            }
+            switch (name) {
+                case "-threads":
+                    options.threads = positive(name, value(args, ++i));
+                    break;
+                case "-queue":
+                    options.queue = positive(name, value(args, ++i));
+                    break;
+                case "-cache":
+                    options.cache = value(args, ++i);
+                    break;
+                case "-hash":
+                    options.hasher = FileHasher.forName(value(args, ++i));
+                    break;
+                case "-format":
+                    options.format = value(args, ++i);
+                    if (!options.format.equals("text") && !options.format.equals("json") && !options.format.equals("binary")) {
+                        throw new IllegalArgumentException("unknown format " + options.format);
+                    }
+                    break;
+                case "-traversal":
+                    String traversal = value(args, ++i);
+                    if (!traversal.equals("walk") && !traversal.equals("forkjoin")) {
+                        throw new IllegalArgumentException("unknown traversal " + traversal);
+                    }
+                    options.forkJoin = traversal.equals("forkjoin");
+                    break;
+                case "-listers":
+                    options.listers = positive(name, value(args, ++i));
+                    break;
+                case "-batch":
+                    options.batch = true;
+                    break;
+                case "-jmx":
+                    options.jmx = true;
+                    break;
+                case "-progress":
+                    options.progress = positive(name, value(args, ++i));
+                    break;
+                case "-io":
+                    String io = value(args, ++i);
+                    if (!io.equals("channel") && !io.equals("async")) {
+                        throw new IllegalArgumentException("unknown io mode " + io);
+                    }
+                    options.async = io.equals("async");
+                    break;
+                case "-inflight":
+                    options.inflight = positive(name, value(args, ++i));
+                    break;
+                case "-checkpoint":
+                    options.checkpoint = value(args, ++i);
+                    break;
+                case "-checkpoint-interval":
+                    options.checkpointInterval = positive(name, value(args, ++i));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + name);
+            }
+        }
+        if (options.async && options.hasher instanceof TreeHasher) {
+            throw new IllegalArgumentException("-io async is not supported for hash " + options.hasher.name());
+        }
+        return options;
+    }
+
+    HashEngine newEngine() {
+        return async ? new AsyncHashEngine(hasher, inflight) : hasher.newEngine();
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length || args[i] == null) {
+            throw new IllegalArgumentException("expected value for option " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static int positive(String name, String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("expected positive number for option " + name);
+    }
+}
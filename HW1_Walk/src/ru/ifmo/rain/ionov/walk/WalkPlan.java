@@ -0,0 +1,52 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+class WalkPlan {
+    private final List<String> roots;
+    private final boolean[] shared;
+
+    WalkPlan(List<String> roots) {
+        this.roots = roots;
+        shared = new boolean[roots.size()];
+        Path[] paths = new Path[roots.size()];
+        Map<Path, Integer> first = new HashMap<>();
+        Set<Path> sharedPaths = new HashSet<>();
+        for (int i = 0; i < roots.size(); i++) {
+            try {
+                paths[i] = Paths.get(roots.get(i)).toAbsolutePath().normalize();
+            } catch (InvalidPathException e) {
+                continue;
+            }
+            if (first.putIfAbsent(paths[i], i) != null) {
+                sharedPaths.add(paths[i]);
+            }
+        }
+        for (Path path : first.keySet()) {
+            for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+                if (first.containsKey(parent)) {
+                    sharedPaths.add(path);
+                    sharedPaths.add(parent);
+                }
+            }
+        }
+        for (int i = 0; i < roots.size(); i++) {
+            shared[i] = paths[i] != null && sharedPaths.contains(paths[i]);
+        }
+    }
+
+    int size() {
+        return roots.size();
+    }
+
+    String root(int i) {
+        return roots.get(i);
+    }
+
+    boolean shared(int i) {
+        return shared[i];
+    }
+}
@@ -0,0 +1,121 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class XxHash64Hasher implements FileHasher {
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE = 32;
+
+    @Override
+    public String name() {
+        return "xxh64";
+    }
+
+    @Override
+    public int digits() {
+        return 16;
+    }
+
+    @Override
+    public State newState() {
+        return new XxState();
+    }
+
+    private static long round(long acc, long input) {
+        return Long.rotateLeft(acc + input * P2, 31) * P1;
+    }
+
+    private static long merge(long acc, long value) {
+        return (acc ^ round(0, value)) * P1 + P4;
+    }
+
+    private static class XxState implements State {
+        private final ByteBuffer tail = ByteBuffer.allocate(STRIPE).order(ByteOrder.LITTLE_ENDIAN);
+        private long v1;
+        private long v2;
+        private long v3;
+        private long v4;
+        private long total;
+
+        private XxState() {
+            reset();
+        }
+
+        @Override
+        public void reset() {
+            v1 = P1 + P2;
+            v2 = P2;
+            v3 = 0;
+            v4 = -P1;
+            total = 0;
+            tail.clear();
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            ByteOrder order = buffer.order();
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            total += buffer.remaining();
+            if (tail.position() > 0) {
+                while (tail.hasRemaining() && buffer.hasRemaining()) {
+                    tail.put(buffer.get());
+                }
+                if (tail.hasRemaining()) {
+                    buffer.order(order);
+                    return;
+                }
+                stripe(tail, 0);
+                tail.clear();
+            }
+            int i = buffer.position();
+            for (int limit = buffer.limit() - STRIPE; i <= limit; i += STRIPE) {
+                stripe(buffer, i);
+            }
+            buffer.position(i);
+            tail.put(buffer);
+            buffer.order(order);
+        }
+
+        private void stripe(ByteBuffer buffer, int i) {
+            v1 = round(v1, buffer.getLong(i));
+            v2 = round(v2, buffer.getLong(i + 8));
+            v3 = round(v3, buffer.getLong(i + 16));
+            v4 = round(v4, buffer.getLong(i + 24));
+        }
+
+        @Override
+        public long digest() {
+            long h;
+            if (total >= STRIPE) {
+                h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+                h = merge(merge(merge(merge(h, v1), v2), v3), v4);
+            } else {
+                h = P5;
+            }
+            h += total;
+            int end = tail.position();
+            int i = 0;
+            for (; i + 8 <= end; i += 8) {
+                h = Long.rotateLeft(h ^ round(0, tail.getLong(i)), 27) * P1 + P4;
+            }
+            if (i + 4 <= end) {
+                h = Long.rotateLeft(h ^ (tail.getInt(i) & 0xffffffffL) * P1, 23) * P2 + P3;
+                i += 4;
+            }
+            for (; i < end; i++) {
+                h = Long.rotateLeft(h ^ (tail.get(i) & 255) * P5, 11) * P1;
+            }
+            h ^= h >>> 33;
+            h *= P2;
+            h ^= h >>> 29;
+            h *= P3;
+            h ^= h >>> 32;
+            return h;
+        }
+    }
+}
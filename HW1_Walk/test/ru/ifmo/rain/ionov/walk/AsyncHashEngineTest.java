@@ -0,0 +1,46 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class AsyncHashEngineTest {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Test
+    public void test01_matchesChannelEngine() throws IOException {
+        final Random random = new Random(4);
+        for (final FileHasher hasher : new FileHasher[]{new Fnv32Hasher(), new XxHash64Hasher()}) {
+            for (final int window : new int[]{1, 3, 8}) {
+                final HashEngine engine = new AsyncHashEngine(hasher, window);
+                for (final int size : new int[]{0, 1, BUFFER_SIZE - 1, BUFFER_SIZE, window * BUFFER_SIZE + 1, 10 * BUFFER_SIZE + 7}) {
+                    final byte[] data = new byte[size];
+                    random.nextBytes(data);
+                    final Path file = Files.createTempFile("async", ".bin");
+                    try {
+                        Files.write(file, data);
+                        Assert.assertEquals(hasher.name() + " window " + window + " size " + size,
+                                ChannelHashEngineTest.digest(hasher, data), engine.hash(file));
+                    } finally {
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void test02_missingFile() throws IOException {
+        final Path file = Files.createTempFile("async", ".bin");
+        Files.delete(file);
+        new AsyncHashEngine(new XxHash64Hasher(), 4).hash(file);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CachingHashEngineTest {
+    private final AtomicInteger misses = new AtomicInteger();
+    private final HashEngine counting = path -> {
+        misses.incrementAndGet();
+        return Files.size(path) * 31 + 7;
+    };
+    private Path dir;
+    private Path file;
+    private Path cacheFile;
+
+    @Before
+    public void createFiles() throws IOException {
+        dir = Files.createTempDirectory("cache");
+        file = dir.resolve("file");
+        cacheFile = dir.resolve("hashes.cache");
+        Files.write(file, new byte[10]);
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void test01_hitAndMiss() throws IOException {
+        final HashEngine engine = new CachingHashEngine(HashCache.load(cacheFile, "test"), counting);
+        Assert.assertEquals(317, engine.hash(file));
+        Assert.assertEquals(1, misses.get());
+        Assert.assertEquals(317, engine.hash(file));
+        Assert.assertEquals(1, misses.get());
+
+        Files.write(file, new byte[20]);
+        Assert.assertEquals(627, engine.hash(file));
+        Assert.assertEquals(2, misses.get());
+    }
+
+    @Test
+    public void test02_persistence() throws IOException {
+        final HashCache cache = HashCache.load(cacheFile, "test");
+        new CachingHashEngine(cache, counting).hash(file);
+        cache.save();
+        Assert.assertEquals(1, misses.get());
+
+        Assert.assertEquals(317, new CachingHashEngine(HashCache.load(cacheFile, "test"), counting).hash(file));
+        Assert.assertEquals(1, misses.get());
+
+        Assert.assertEquals(317, new CachingHashEngine(HashCache.load(cacheFile, "other"), counting).hash(file));
+        Assert.assertEquals(2, misses.get());
+    }
+
+    @Test
+    public void test03_corruptCache() throws IOException {
+        final HashCache cache = HashCache.load(cacheFile, "test");
+        new CachingHashEngine(cache, counting).hash(file);
+        cache.save();
+        final byte[] bytes = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(bytes, bytes.length - 3));
+
+        Assert.assertEquals(317, new CachingHashEngine(HashCache.load(cacheFile, "test"), counting).hash(file));
+        Assert.assertEquals(2, misses.get());
+    }
+
+    @Test
+    public void test04_directories() throws IOException {
+        final HashEngine engine = new CachingHashEngine(HashCache.load(cacheFile, "test"), path -> {
+            misses.incrementAndGet();
+            return 0;
+        });
+        engine.hash(dir);
+        engine.hash(dir);
+        Assert.assertEquals(2, misses.get());
+    }
+}
@@ -0,0 +1,53 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ChannelHashEngineTest {
+    @Test
+    public void test01_fnvVectors() throws IOException {
+        Assert.assertEquals(0x811c9dc5L, hash(new Fnv32Hasher(), new byte[0]));
+        Assert.assertEquals(0x050c5d7eL, hash(new Fnv32Hasher(), "a".getBytes(StandardCharsets.US_ASCII)));
+        Assert.assertEquals(0xcbf29ce484222325L, hash(new Fnv64Hasher(), new byte[0]));
+        Assert.assertEquals(0xaf63bd4c8601b7beL, hash(new Fnv64Hasher(), "a".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void test02_bufferBoundaries() throws IOException {
+        final Random random = new Random(5470238457203L);
+        for (final FileHasher hasher : new FileHasher[]{new Fnv32Hasher(), new Fnv64Hasher(), new XxHash64Hasher()}) {
+            for (final int size : new int[]{1, (1 << 16) - 1, 1 << 16, (1 << 16) + 1, (1 << 20) + 3}) {
+                final byte[] data = new byte[size];
+                random.nextBytes(data);
+                Assert.assertEquals(hasher.name() + " " + size, digest(hasher, data), hash(hasher, data));
+            }
+        }
+    }
+
+    private static long hash(final FileHasher hasher, final byte[] data) throws IOException {
+        final Path file = Files.createTempFile("hash", ".bin");
+        try {
+            Files.write(file, data);
+            return new ChannelHashEngine(hasher).hash(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    static long digest(final FileHasher hasher, final byte[] data) {
+        final FileHasher.State state = hasher.newState();
+        state.reset();
+        state.update(ByteBuffer.wrap(data));
+        return state.digest();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CheckpointTest {
+    private Path dir;
+    private Path input;
+    private Path expected;
+    private Path output;
+    private Path checkpoint;
+
+    @Before
+    public void createTree() throws IOException {
+        dir = Files.createTempDirectory("checkpoint");
+        for (final String root : new String[]{"a", "b"}) {
+            Files.createDirectory(dir.resolve(root));
+            for (int i = 0; i < 5; i++) {
+                Files.write(dir.resolve(root).resolve("f" + i), (root + i).getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        input = dir.resolve("input");
+        expected = dir.resolve("expected");
+        output = dir.resolve("output");
+        checkpoint = dir.resolve("checkpoint");
+        Files.write(input, Arrays.asList(dir.resolve("a").toString(), dir.resolve("b").toString()));
+        RecursiveWalk.main(new String[]{input.toString(), expected.toString()});
+        Assert.assertEquals(10, Files.readAllLines(expected).size());
+    }
+
+    @After
+    public void deleteTree() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void test01_resume() throws IOException {
+        for (final int done : new int[]{0, 3, 5, 7, 10}) {
+            interrupt(done);
+            RecursiveWalk.main(new String[]{input.toString(), output.toString(), "-checkpoint", checkpoint.toString()});
+            Assert.assertEquals("resumed after " + done, Files.readAllLines(expected), Files.readAllLines(output));
+            Assert.assertFalse(Files.exists(checkpoint));
+        }
+    }
+
+    @Test
+    public void test02_missingOutput() throws IOException {
+        interrupt(7);
+        Files.delete(output);
+        RecursiveWalk.main(new String[]{input.toString(), output.toString(), "-checkpoint", checkpoint.toString()});
+        Assert.assertEquals(Files.readAllLines(expected), Files.readAllLines(output));
+    }
+
+    @Test
+    public void test03_corruptCheckpoint() throws IOException {
+        interrupt(7);
+        Files.write(checkpoint, new byte[]{1, 2, 3});
+        RecursiveWalk.main(new String[]{input.toString(), output.toString(), "-checkpoint", checkpoint.toString()});
+        Assert.assertEquals(Files.readAllLines(expected), Files.readAllLines(output));
+    }
+
+    private void interrupt(final int done) throws IOException {
+        final List<String> lines = Files.readAllLines(expected);
+        final Checkpoint saved = new Checkpoint(checkpoint, 1);
+        try (FileOutputStream out = new FileOutputStream(output.toFile());
+             OutputSink sink = OutputSink.open("text", out, 8)) {
+            saved.attach(sink, out.getChannel());
+            for (int i = 0; i < done; i++) {
+                final String[] parts = lines.get(i).split(" ", 2);
+                sink.write(Long.parseLong(parts[0], 16), parts[1]);
+                saved.written(i < 5 ? 0 : 1);
+            }
+        }
+        Files.write(output, "0123 partial".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DuplicateFinderTest {
+    @Test
+    public void test01_duplicates() throws Exception {
+        final Path dir = fixture();
+        try {
+            final XxHash64Hasher hasher = new XxHash64Hasher();
+            Assert.assertEquals(expected(dir), find(dir, new DuplicateFinder(hasher, 2)));
+            Assert.assertEquals(expected(dir), find(dir, new DuplicateFinder(hasher, () -> new AsyncHashEngine(hasher, 4), 2)));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void test02_unsupportedOptions() throws IOException {
+        final Path dir = fixture();
+        try {
+            final Path input = dir.resolve("input");
+            Files.write(input, Collections.singletonList(dir.toString()));
+            for (final String option : new String[]{"-cache", "-batch", "-traversal", "-checkpoint", "-jmx"}) {
+                final Path output = dir.resolve("output" + option);
+                DuplicateFinder.main(new String[]{input.toString(), output.toString(), option, "x"});
+                Assert.assertFalse(option, Files.exists(output));
+            }
+            final Path output = dir.resolve("output");
+            DuplicateFinder.main(new String[]{input.toString(), output.toString(), "-io", "async", "-threads", "2"});
+            Assert.assertEquals(5, Files.readAllLines(output).size());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static Path fixture() throws IOException {
+        final Path dir = Files.createTempDirectory("duplicates");
+        final Random random = new Random(3);
+        final byte[] large = new byte[100_000];
+        random.nextBytes(large);
+        final byte[] other = large.clone();
+        other[other.length - 1]++;
+        Files.write(dir.resolve("a"), large);
+        Files.write(dir.resolve("b"), large);
+        Files.write(dir.resolve("c"), other);
+        Files.createDirectory(dir.resolve("sub"));
+        Files.write(dir.resolve("sub").resolve("d"), large);
+        Files.write(dir.resolve("e"), "small".getBytes(StandardCharsets.US_ASCII));
+        Files.write(dir.resolve("sub").resolve("f"), "small".getBytes(StandardCharsets.US_ASCII));
+        Files.write(dir.resolve("g"), "other".getBytes(StandardCharsets.US_ASCII));
+        return dir;
+    }
+
+    private static Set<Set<String>> expected(final Path dir) {
+        return new HashSet<>(Arrays.asList(
+                paths(dir.resolve("a"), dir.resolve("b"), dir.resolve("sub").resolve("d")),
+                paths(dir.resolve("e"), dir.resolve("sub").resolve("f"))
+        ));
+    }
+
+    private static Set<String> paths(final Path... paths) {
+        return Stream.of(paths).map(Path::toString).collect(Collectors.toSet());
+    }
+
+    private static Set<Set<String>> find(final Path dir, final DuplicateFinder finder) throws Exception {
+        final Map<Long, Set<String>> groups = new HashMap<>();
+        try {
+            finder.add(dir);
+            final RecordingSink sink = new RecordingSink();
+            finder.find(sink);
+            for (final String line : sink.lines) {
+                final String[] parts = line.split(" ", 2);
+                groups.computeIfAbsent(Long.parseUnsignedLong(parts[0], 16), hash -> new HashSet<>()).add(parts[1]);
+            }
+        } finally {
+            finder.close();
+        }
+        return new HashSet<>(groups.values());
+    }
+
+    private static void delete(final Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class HashPipelineTest {
+    private static final HashEngine SLOW = path -> {
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(1_000_000));
+        return path.toString().hashCode();
+    };
+
+    @Test(timeout = 10_000)
+    public void test01_orderedOutput() throws IOException {
+        for (final int threads : new int[]{1, 2, 8}) {
+            final RecordingSink sink = new RecordingSink();
+            final List<String> expected = new ArrayList<>();
+            try (HashPipeline pipeline = new HashPipeline(sink, threads, 4, () -> SLOW, null, null)) {
+                for (int i = 0; i < 200; i++) {
+                    final Path path = Paths.get("f" + i);
+                    if (i % 17 == 0) {
+                        pipeline.error(path.toString());
+                        expected.add(String.format("%016x %s", 0, path));
+                    } else {
+                        pipeline.file(path, null);
+                        expected.add(String.format("%016x %s", (long) path.toString().hashCode(), path));
+                    }
+                }
+            }
+            Assert.assertEquals("threads " + threads, expected, sink.lines);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void test02_ioErrors() throws IOException {
+        final RecordingSink sink = new RecordingSink();
+        try (HashPipeline pipeline = new HashPipeline(sink, 4, 4, () -> path -> {
+            throw new IOException(path.toString());
+        }, null, null)) {
+            for (int i = 0; i < 10; i++) {
+                pipeline.file(Paths.get("f" + i), null);
+            }
+        }
+        Assert.assertEquals(10, sink.lines.size());
+        for (final String line : sink.lines) {
+            Assert.assertTrue(line, line.startsWith("0000000000000000 "));
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void test03_unexpectedFailure() throws IOException {
+        for (final int threads : new int[]{1, 4}) {
+            final RecordingSink sink = new RecordingSink();
+            final IllegalStateException failure = new IllegalStateException("engine failure");
+            final HashPipeline pipeline = new HashPipeline(sink, threads, 2, () -> path -> {
+                if (path.toString().equals("f3")) {
+                    throw failure;
+                }
+                return 1;
+            }, null, null);
+            for (int i = 0; i < 10; i++) {
+                pipeline.file(Paths.get("f" + i), null);
+            }
+            try {
+                pipeline.close();
+                Assert.fail("Failure should be rethrown from close()");
+            } catch (final IllegalStateException e) {
+                Assert.assertSame(failure, e);
+            }
+            Assert.assertEquals(10, sink.lines.size());
+            Assert.assertEquals("0000000000000000 f3", sink.lines.get(3));
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void test04_sharedHash() throws IOException {
+        final Path file = Files.createTempFile("shared", ".bin");
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            final AtomicInteger calls = new AtomicInteger();
+            final RecordingSink sink = new RecordingSink();
+            try (HashPipeline pipeline = new HashPipeline(sink, 4, 4, () -> path -> {
+                calls.incrementAndGet();
+                return 42;
+            }, null, null)) {
+                pipeline.share(true);
+                for (int i = 0; i < 10; i++) {
+                    pipeline.file(file, attrs);
+                }
+            }
+            Assert.assertEquals(1, calls.get());
+            Assert.assertEquals(Collections.nCopies(10, String.format("%016x %s", 42, file)), sink.lines);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void test05_sharedHashFailure() throws IOException {
+        final Path file = Files.createTempFile("shared", ".bin");
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            final IllegalStateException failure = new IllegalStateException("engine failure");
+            final RecordingSink sink = new RecordingSink();
+            final HashPipeline pipeline = new HashPipeline(sink, 4, 4, () -> path -> {
+                LockSupport.parkNanos(10_000_000);
+                throw failure;
+            }, null, null);
+            pipeline.share(true);
+            for (int i = 0; i < 10; i++) {
+                pipeline.file(file, attrs);
+            }
+            try {
+                pipeline.close();
+                Assert.fail("Failure should be rethrown from close()");
+            } catch (final IllegalStateException e) {
+                Assert.assertSame(failure, e);
+            }
+            Assert.assertEquals(Collections.nCopies(10, String.format("%016x %s", 0, file)), sink.lines);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
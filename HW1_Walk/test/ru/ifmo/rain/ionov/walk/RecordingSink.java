@@ -0,0 +1,21 @@
+package ru.ifmo.rain.ionov.walk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RecordingSink implements OutputSink {
+    final List<String> lines = new ArrayList<>();
+
+    @Override
+    public synchronized void write(long hash, String path) {
+        lines.add(String.format("%016x %s", hash, path));
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
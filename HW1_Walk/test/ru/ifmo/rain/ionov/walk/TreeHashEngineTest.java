@@ -0,0 +1,54 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TreeHashEngineTest {
+    private static final int CHUNK_SIZE = 1 << 24;
+
+    @Test
+    public void test01_smallFile() throws IOException {
+        final byte[] data = new byte[1000];
+        new Random(1).nextBytes(data);
+        Assert.assertEquals(tree(data), hash(data));
+    }
+
+    @Test
+    public void test02_chunkedFile() throws IOException {
+        final byte[] data = new byte[2 * CHUNK_SIZE + 12345];
+        new Random(2).nextBytes(data);
+        Assert.assertEquals(tree(data), hash(data));
+    }
+
+    private static long hash(final byte[] data) throws IOException {
+        final Path file = Files.createTempFile("tree", ".bin");
+        try {
+            Files.write(file, data);
+            return new TreeHasher(new XxHash64Hasher()).newEngine().hash(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static long tree(final byte[] data) {
+        final FileHasher leaf = new XxHash64Hasher();
+        final int chunks = Math.max(1, (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        final ByteBuffer digests = ByteBuffer.allocate(chunks * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < chunks; i++) {
+            digests.putLong(ChannelHashEngineTest.digest(leaf, Arrays.copyOfRange(data, i * CHUNK_SIZE, Math.min(data.length, (i + 1) * CHUNK_SIZE))));
+        }
+        digests.flip();
+        return ChannelHashEngineTest.digest(leaf, Arrays.copyOf(digests.array(), digests.limit()));
+    }
+}
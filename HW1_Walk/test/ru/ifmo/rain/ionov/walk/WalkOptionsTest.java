@@ -0,0 +1,56 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Arrays;
+import java.util.List;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class WalkOptionsTest {
+    private static final List<String> WALK = Arrays.asList("-hash", "-format", "-io", "-inflight");
+
+    @Test
+    public void test01_values() {
+        final WalkOptions options = WalkOptions.parse(new String[]{"in", "out", "-threads", "4", "-hash", "xxh64", "-format", "json", "-batch", "-io", "async"}, 2, WalkOptions.NAMES);
+        Assert.assertEquals(4, options.threads);
+        Assert.assertEquals("xxh64", options.hasher.name());
+        Assert.assertEquals("json", options.format);
+        Assert.assertTrue(options.batch);
+        Assert.assertTrue(options.async);
+    }
+
+    @Test
+    public void test02_defaults() {
+        final WalkOptions options = WalkOptions.parse(new String[]{"in", "out"}, 2, WALK);
+        Assert.assertEquals("fnv32", options.hasher.name());
+        Assert.assertEquals("text", options.format);
+        Assert.assertEquals(1, options.threads);
+    }
+
+    @Test
+    public void test03_unsupported() {
+        WalkOptions.parse(new String[]{"in", "out", "-hash", "fnv64", "-inflight", "2"}, 2, WALK);
+        for (final String option : new String[]{"-cache", "-threads", "-batch", "-traversal", "-checkpoint", "-jmx", "-bogus"}) {
+            try {
+                WalkOptions.parse(new String[]{"in", "out", option, "1"}, 2, WALK);
+                Assert.fail("Option " + option + " should be rejected");
+            } catch (final IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains(option));
+            }
+        }
+    }
+
+    @Test
+    public void test04_invalidValues() {
+        for (final String[] args : new String[][]{{"-threads", "0"}, {"-threads"}, {"-format", "xml"}, {"-hash", "md5"}, {"-io", "mmap"}, {"-hash", "tree", "-io", "async"}}) {
+            try {
+                WalkOptions.parse(args, 0, WalkOptions.NAMES);
+                Assert.fail("Arguments " + Arrays.toString(args) + " should be rejected");
+            } catch (final IllegalArgumentException ignored) {
+            }
+        }
+    }
+}
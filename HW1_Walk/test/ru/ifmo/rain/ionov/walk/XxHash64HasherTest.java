@@ -0,0 +1,57 @@
+package ru.ifmo.rain.ionov.walk;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class XxHash64HasherTest {
+    private static final FileHasher HASHER = new XxHash64Hasher();
+
+    @Test
+    public void test01_vectors() {
+        Assert.assertEquals(0xEF46DB3751D8E999L, digest(""));
+        Assert.assertEquals(0xD24EC4F1A98C6E5BL, digest("a"));
+        Assert.assertEquals(0x44BC2CF5AD770999L, digest("abc"));
+        Assert.assertEquals(0xFBCEA83C8A378BF1L, digest("Nobody inspects the spammish repetition"));
+    }
+
+    @Test
+    public void test02_splitUpdates() {
+        final Random random = new Random(4);
+        final byte[] data = new byte[1000];
+        random.nextBytes(data);
+        final long expected = ChannelHashEngineTest.digest(HASHER, data);
+        final FileHasher.State state = HASHER.newState();
+        for (int i = 0; i < 100; i++) {
+            state.reset();
+            for (int position = 0; position < data.length; ) {
+                final int length = Math.min(data.length - position, random.nextInt(70));
+                state.update(ByteBuffer.wrap(data, position, length));
+                position += length;
+            }
+            Assert.assertEquals(expected, state.digest());
+        }
+    }
+
+    @Test
+    public void test03_directBuffers() {
+        final byte[] data = new byte[100];
+        new Random(5).nextBytes(data);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        final FileHasher.State state = HASHER.newState();
+        state.reset();
+        state.update(direct);
+        Assert.assertEquals(ChannelHashEngineTest.digest(HASHER, data), state.digest());
+    }
+
+    private static long digest(final String s) {
+        return ChannelHashEngineTest.digest(HASHER, s.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,385 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+abstract class AbstractArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+    final int from;
+    final int to;
+    final boolean descending;
+
+    static final int BATCH = 1 << 12;
+
+    AbstractArraySet(int from, int to, boolean descending) {
+        this.from = from;
+        this.to = to;
+        this.descending = descending;
+    }
+
+    abstract E get(int index);
+
+    abstract int search(Object key);
+
+    abstract Comparator<? super E> order();
+
+    abstract AbstractArraySet<E> view(int from, int to, boolean descending);
+
+    E at(int position) {
+        return get(descending ? to - 1 - position : from + position);
+    }
+
+    int gallop(Comparator<? super E> order, E key, int position) {
+        int low = position;
+        int step = 1;
+        while (low < size() && order.compare(at(low), key) < 0) {
+            position = low + 1;
+            low += step;
+            step <<= 1;
+        }
+        int high = Math.min(low, size());
+        while (position < high) {
+            int mid = (position + high) >>> 1;
+            if (order.compare(at(mid), key) < 0) {
+                position = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return position;
+    }
+
+    public BitSet containsEach(List<? extends E> keys) {
+        return containsEach(keys, false);
+    }
+
+    public BitSet parallelContainsEach(List<? extends E> keys) {
+        return containsEach(keys, true);
+    }
+
+    public List<E> floorAll(List<? extends E> keys) {
+        return floorAll(keys, false);
+    }
+
+    public List<E> parallelFloorAll(List<? extends E> keys) {
+        return floorAll(keys, true);
+    }
+
+    public List<E> ceilingAll(List<? extends E> keys) {
+        return ceilingAll(keys, false);
+    }
+
+    public List<E> parallelCeilingAll(List<? extends E> keys) {
+        return ceilingAll(keys, true);
+    }
+
+    private BitSet containsEach(List<? extends E> keys, boolean parallel) {
+        int[] positions = positions(keys, parallel);
+        BitSet result = new BitSet(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private List<E> floorAll(List<? extends E> keys, boolean parallel) {
+        int[] positions = positions(keys, parallel);
+        List<E> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            int i = position >= 0 ? position : -position - 2;
+            result.add(i >= 0 ? at(i) : null);
+        }
+        return result;
+    }
+
+    private List<E> ceilingAll(List<? extends E> keys, boolean parallel) {
+        int[] positions = positions(keys, parallel);
+        List<E> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            int i = position >= 0 ? position : -position - 1;
+            result.add(i < size() ? at(i) : null);
+        }
+        return result;
+    }
+
+    private int[] positions(List<? extends E> keys, boolean parallel) {
+        List<? extends E> probes = keys instanceof RandomAccess ? keys : new ArrayList<>(keys);
+        Comparator<? super E> order = Merge.order(comparator());
+        int[] positions = new int[probes.size()];
+        if (parallel) {
+            IntStream.range(0, (positions.length + BATCH - 1) / BATCH).parallel().forEach(
+                    batch -> positions(probes, positions, batch * BATCH, Math.min(positions.length, (batch + 1) * BATCH), order));
+        } else {
+            positions(probes, positions, 0, positions.length, order);
+        }
+        return positions;
+    }
+
+    private void positions(List<? extends E> keys, int[] positions, int from, int to, Comparator<? super E> order) {
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            E key = keys.get(i);
+            if (i > from && order.compare(key, keys.get(i - 1)) < 0) {
+                position = 0;
+            }
+            position = gallop(order, key, position);
+            positions[i] = position < size() && order.compare(at(position), key) == 0 ? position : -position - 1;
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next = descending ? to - 1 : from;
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next >= from : next < to;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(descending ? next-- : next++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RangeSpliterator(0, size());
+    }
+
+    private class RangeSpliterator implements Spliterator<E> {
+        private int position;
+        private final int end;
+
+        RangeSpliterator(int position, int end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (position < end) {
+                action.accept(at(position++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (; position < end; position++) {
+                action.accept(at(position));
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (position + end) >>> 1;
+            if (mid <= position) {
+                return null;
+            }
+            Spliterator<E> prefix = new RangeSpliterator(position, mid);
+            position = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return comparator();
+        }
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return descending ? Collections.reverseOrder(order()) : order();
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return search(o) >= 0;
+    }
+
+    int firstIndex() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No first element");
+        }
+        return descending ? to - 1 : from;
+    }
+
+    int lastIndex() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No last element");
+        }
+        return descending ? from : to - 1;
+    }
+
+    @Override
+    public E first() {
+        return get(firstIndex());
+    }
+
+    @Override
+    public E last() {
+        return get(lastIndex());
+    }
+
+    static int positionHeadCheck(int i, boolean f) {
+        if (i < 0) {
+            return (-i - 1);
+        }
+        if (!f) {
+            return i + 1;
+        }
+        return i;
+    }
+
+    static int positionTailCheck(int i, boolean f) {
+        if (i < 0) {
+            return (-i - 2);
+        }
+        if (!f) {
+            return i - 1;
+        }
+        return i;
+    }
+
+    private int check(int i) {
+        return from <= i && i < to ? i : -1;
+    }
+
+    int lowerIndex(int i) {
+        return check(descending ? positionHeadCheck(i, false) : positionTailCheck(i, false));
+    }
+
+    int floorIndex(int i) {
+        return check(descending ? positionHeadCheck(i, true) : positionTailCheck(i, true));
+    }
+
+    int ceilingIndex(int i) {
+        return check(descending ? positionTailCheck(i, true) : positionHeadCheck(i, true));
+    }
+
+    int higherIndex(int i) {
+        return check(descending ? positionTailCheck(i, false) : positionHeadCheck(i, false));
+    }
+
+    private E element(int i) {
+        return i < 0 ? null : get(i);
+    }
+
+    @Override
+    public E lower(E e) {
+        return element(lowerIndex(search(e)));
+    }
+
+    @Override
+    public E floor(E e) {
+        return element(floorIndex(search(e)));
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return element(ceilingIndex(search(e)));
+    }
+
+    @Override
+    public E higher(E e) {
+        return element(higherIndex(search(e)));
+    }
+
+    @Override
+    public E pollFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public E pollLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return view(from, to, !descending);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        int i = search(toElement);
+        if (descending) {
+            return view(positionHeadCheck(i, inclusive), to, true);
+        }
+        return view(from, positionTailCheck(i, inclusive) + 1, false);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        int i = search(fromElement);
+        if (descending) {
+            return view(from, positionTailCheck(i, inclusive) + 1, true);
+        }
+        return view(positionHeadCheck(i, inclusive), to, false);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        Comparator<? super E> comparator = comparator();
+        int compare = comparator == null ? ((Comparable<? super E>) fromElement).compareTo(toElement) : comparator.compare(fromElement, toElement);
+        if (compare > 0) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        int i = search(fromElement);
+        int j = search(toElement);
+        int posFrom, posTo;
+        if (descending) {
+            posFrom = positionHeadCheck(j, toInclusive);
+            posTo = positionTailCheck(i, fromInclusive) + 1;
+        } else {
+            posFrom = positionHeadCheck(i, fromInclusive);
+            posTo = positionTailCheck(j, toInclusive) + 1;
+        }
+        return view(posFrom, Math.max(posFrom, posTo), descending);
+    }
+}
@@ -0,0 +1,234 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+
+public class ArrayMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+    private final ArraySet<K> keys;
+    private final Object[] values;
+
+    public ArrayMap() {
+        this(new ArraySet<>(), new Object[0]);
+    }
+
+    public ArrayMap(Map<? extends K, ? extends V> map) {
+        this(map, null);
+    }
+
+    public ArrayMap(Map<? extends K, ? extends V> map, Comparator<? super K> comp) {
+        Object[] entries = map.entrySet().toArray();
+        Comparator<Object> order = Merge.objectOrder(comp);
+        Comparator<Object> byKey = (a, b) -> order.compare(((Map.Entry<?, ?>) a).getKey(), ((Map.Entry<?, ?>) b).getKey());
+        if (entries.length == 1) {
+            Object key = ((Map.Entry<?, ?>) entries[0]).getKey();
+            order.compare(key, key);
+        }
+        if (!(map instanceof SortedMap && Objects.equals(((SortedMap<?, ?>) map).comparator(), comp))) {
+            if (entries.length >= ArraySet.PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(entries, byKey);
+            } else {
+                Arrays.sort(entries, byKey);
+            }
+        }
+        Object[] keys = new Object[entries.length];
+        Object[] values = new Object[entries.length];
+        int size = 0;
+        for (Object entry : entries) {
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) entry;
+            if (size == 0 || order.compare(keys[size - 1], e.getKey()) != 0) {
+                keys[size++] = e.getKey();
+            }
+            values[size - 1] = e.getValue();
+        }
+        this.keys = new ArraySet<>(size == keys.length ? keys : Arrays.copyOf(keys, size), comp);
+        this.values = size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private ArrayMap(ArraySet<K> keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private Entry<K, V> entry(int index) {
+        return index < 0 ? null : new SimpleImmutableEntry<>(keys.get(index), value(index));
+    }
+
+    private K key(int index) {
+        return index < 0 ? null : keys.get(index);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keys.size();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return entry(keys.descending ? keys.to - 1 - position++ : keys.from + position++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = keys.search(key);
+        return i < 0 ? null : value(i);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return keys.comparator();
+    }
+
+    @Override
+    public K firstKey() {
+        return keys.first();
+    }
+
+    @Override
+    public K lastKey() {
+        return keys.last();
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return isEmpty() ? null : entry(keys.firstIndex());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return isEmpty() ? null : entry(keys.lastIndex());
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return entry(keys.lowerIndex(keys.search(key)));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return key(keys.lowerIndex(keys.search(key)));
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return entry(keys.floorIndex(keys.search(key)));
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return key(keys.floorIndex(keys.search(key)));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return entry(keys.ceilingIndex(keys.search(key)));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return key(keys.ceilingIndex(keys.search(key)));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return entry(keys.higherIndex(keys.search(key)));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return key(keys.higherIndex(keys.search(key)));
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keys;
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return keys;
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return keys.descendingSet();
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return new ArrayMap<>((ArraySet<K>) keys.descendingSet(), values);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return new ArrayMap<>((ArraySet<K>) keys.subSet(fromKey, fromInclusive, toKey, toInclusive), values);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        return new ArrayMap<>((ArraySet<K>) keys.headSet(toKey, inclusive), values);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return new ArrayMap<>((ArraySet<K>) keys.tailSet(fromKey, inclusive), values);
+    }
+}
@@ -2,13 +2,16 @@ package ru.ifmo.rain.ionov.arrayset;
 
 import java.util.*;
 
-public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
-    private final List<E> elements;
+public class ArraySet<E> extends AbstractArraySet<E> {
+    private final Object[] elements;
     private final Comparator<? super E> comparator;
+    private final KeySearch index;
+
+    static final int INDEX_THRESHOLD = 1 << 16;
+    static final int PARALLEL_THRESHOLD = 1 << 16;
 
     public ArraySet() {
-        elements = Collections.emptyList();
-        comparator = null;
+        this(new Object[0], null);
     }
 
     public ArraySet(Collection<E> collection) {
@@ -16,158 +19,165 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
     }
 
     public ArraySet(Collection<E> collection, Comparator<? super E> comp) {
-        TreeSet<E> treeSet = new TreeSet<>(comp);
-        treeSet.addAll(collection);
-        elements = new ArrayList<>(treeSet);
-        comparator = comp;
-    }
-
-    private ArraySet(List<E> list, Comparator<? super E> comp, boolean sort) {
-        elements = list;
-        comparator = comp;
-        if (list instanceof DescendingList) {
-            ((DescendingList) list).reverse();
-        }
-    }
-
-    @Override
-    public Iterator<E> iterator() {
-        return Collections.unmodifiableList(elements).iterator();
+        this(sorted(collection, comp), comp);
     }
 
-    @Override
-    public Comparator<? super E> comparator() {
-        return comparator;
+    ArraySet(Object[] elements, Comparator<? super E> comp) {
+        this(elements, comp, KeySearch.of(elements, comp), 0, elements.length, false);
     }
 
-    @Override
-    public int size() {
-        return elements.size();
+    private ArraySet(Object[] elements, Comparator<? super E> comp, KeySearch index, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.elements = elements;
+        this.comparator = comp;
+        this.index = index;
     }
 
-    @Override
-    public E first() {
-        if (isEmpty()) {
-            throw new NoSuchElementException("No first element");
+    private static <E> Object[] sorted(Collection<E> collection, Comparator<? super E> comp) {
+        Object[] values = collection.toArray();
+        Comparator<Object> order = Merge.objectOrder(comp);
+        if (values.length == 1) {
+            order.compare(values[0], values[0]);
         }
-        return elements.get(0);
-    }
-
-    @Override
-    public E last() {
-        if (isEmpty()) {
-            throw new NoSuchElementException("No last element");
+        if (!isSorted(values, order)) {
+            if (values.length >= PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(values, order);
+            } else {
+                Arrays.sort(values, order);
+            }
         }
-        return elements.get(size() - 1);
-    }
-
-    @Override
-    @SuppressWarnings("Unchecked")
-    public boolean contains(Object o) {
-        return Collections.binarySearch(elements, (E) o, comparator) >= 0;
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || order.compare(values[size - 1], values[i]) != 0) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
     }
 
-    private int positionHeadCheck(int i, boolean f) {
-        if (i < 0) {
-            return (-i - 1);
+    private static boolean isSorted(Object[] values, Comparator<Object> order) {
+        for (int i = 1; i < values.length; i++) {
+            if (order.compare(values[i - 1], values[i]) > 0) {
+                return false;
+            }
         }
-        if (!f) {
-            return i + 1;
+        return true;
+    }
+
+    public ArraySet<E> union(Collection<E> collection) {
+        ArraySet<E> other = arraySet(collection);
+        return result(Merge.union(this, other, comparator()));
+    }
+
+    public ArraySet<E> intersection(Collection<?> collection) {
+        ArraySet<E> other = arraySet(collection);
+        Comparator<? super E> order = Merge.order(comparator());
+        if (skewed(size(), other.size())) {
+            List<E> result = new ArrayList<>();
+            int position = 0;
+            for (E e : this) {
+                position = other.gallop(order, e, position);
+                if (position < other.size() && order.compare(other.at(position), e) == 0) {
+                    result.add(e);
+                }
+            }
+            return result(result);
         }
-        return i;
-    }
-
-    private int positionTailCheck(int i, boolean f) {
-        if (i < 0) {
-            return (-i - 2);
+        if (skewed(other.size(), size())) {
+            List<E> result = new ArrayList<>();
+            int position = 0;
+            for (E e : other) {
+                position = gallop(order, e, position);
+                if (position < size() && order.compare(at(position), e) == 0) {
+                    result.add(at(position));
+                }
+            }
+            return result(result);
         }
-        if (!f) {
-            return i - 1;
+        return result(Merge.intersection(this, other, comparator()));
+    }
+
+    public ArraySet<E> difference(Collection<?> collection) {
+        ArraySet<E> other = arraySet(collection);
+        if (skewed(size(), other.size())) {
+            Comparator<? super E> order = Merge.order(comparator());
+            List<E> result = new ArrayList<>();
+            int position = 0;
+            for (E e : this) {
+                position = other.gallop(order, e, position);
+                if (position == other.size() || order.compare(other.at(position), e) != 0) {
+                    result.add(e);
+                }
+            }
+            return result(result);
         }
-        return i;
-    }
-
-    @Override
-    public SortedSet<E> headSet(E toElement) {
-        return headSet(toElement, false);
+        return result(Merge.difference(this, other, comparator()));
     }
 
     @Override
-    public SortedSet<E> tailSet(E fromElement) {
-        return tailSet(fromElement, true);
-    }
-
-    @Override
-    public SortedSet<E> subSet(E fromElement, E toElement) {
-        return subSet(fromElement, true, toElement, false);
-    }
-
-    @Override
-    public E floor(E e) {
-        int pos = positionTailCheck(Collections.binarySearch(elements, e, comparator), true);
-        if (pos >= 0) return elements.get(pos);
-        else return null;
-    }
-
-    @Override
-    public E ceiling(E e) {
-        int pos = positionHeadCheck(Collections.binarySearch(elements, e, comparator), true);
-        if (pos < elements.size()) return elements.get(pos);
-        else return null;
-    }
-
-    @Override
-    public E higher(E e) {
-        int pos = positionHeadCheck(Collections.binarySearch(elements, e, comparator), false);
-        if (pos < elements.size()) return elements.get(pos);
-        else return null;
+    public boolean containsAll(Collection<?> collection) {
+        ArraySet<E> other = compatible(collection);
+        if (other == null) {
+            return super.containsAll(collection);
+        }
+        if (skewed(other.size(), size())) {
+            Comparator<? super E> order = Merge.order(comparator());
+            int position = 0;
+            for (E e : other) {
+                position = gallop(order, e, position);
+                if (position == size() || order.compare(at(position), e) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Merge.containsAll(this, other, comparator());
     }
 
-    @Override
-    public E lower(E e) {
-        int pos = positionTailCheck(Collections.binarySearch(elements, e, comparator), false);
-        if (pos >= 0) return elements.get(pos);
-        else return null;
+    private static boolean skewed(int small, int large) {
+        return (long) small * (32 - Integer.numberOfLeadingZeros(large)) < large;
     }
 
-    @Override
-    public E pollFirst() {
-        throw new UnsupportedOperationException();
+    @SuppressWarnings("unchecked")
+    private ArraySet<E> compatible(Collection<?> collection) {
+        if (collection instanceof ArraySet && Objects.equals(comparator(), ((ArraySet<?>) collection).comparator())) {
+            return (ArraySet<E>) collection;
+        }
+        return null;
     }
 
-    @Override
-    public E pollLast() {
-        throw new UnsupportedOperationException();
+    @SuppressWarnings("unchecked")
+    private ArraySet<E> arraySet(Collection<?> collection) {
+        ArraySet<E> other = compatible(collection);
+        return other != null ? other : new ArraySet<>((Collection<E>) collection, comparator());
     }
 
-    @Override
-    public Iterator<E> descendingIterator() {
-        return descendingSet().iterator();
+    private ArraySet<E> result(List<E> elements) {
+        return new ArraySet<>(elements.toArray(), comparator());
     }
 
     @Override
-    public NavigableSet<E> descendingSet() {
-        return new ArraySet<>(new DescendingList<>(elements), Collections.reverseOrder(comparator));
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        return (E) elements[index];
     }
 
     @Override
-    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
-        int pos = positionTailCheck(Collections.binarySearch(elements, toElement, comparator), inclusive) + 1;
-        return new ArraySet<>(elements.subList(0, pos), comparator, true);
+    @SuppressWarnings("unchecked")
+    int search(Object key) {
+        if (index != null) {
+            return index.search(key, from, to);
+        }
+        return Arrays.binarySearch((E[]) elements, from, to, (E) key, comparator);
     }
 
     @Override
-    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
-        int posFrom = positionHeadCheck(Collections.binarySearch(elements, fromElement, comparator), fromInclusive), posTo = positionTailCheck(Collections.binarySearch(elements, toElement, comparator), toInclusive) + 1;
-        if (posTo + 1 == posFrom) {
-            posTo = posFrom;
-        }
-        return new ArraySet<>(elements.subList(posFrom, posTo), comparator, true);
+    Comparator<? super E> order() {
+        return comparator;
     }
 
     @Override
-    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
-        int posFrom = positionHeadCheck(Collections.binarySearch(elements, fromElement, comparator), inclusive);
-        return new ArraySet<>(elements.subList(posFrom, size()), comparator, true);
+    ArraySet<E> view(int from, int to, boolean descending) {
+        return new ArraySet<>(elements, comparator, index, from, to, descending);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+class BlockIndex<E> implements KeySearch {
+    static final int BLOCK = 16;
+
+    private final Object[][] levels;
+    private final Comparator<Object> order;
+
+    BlockIndex(Object[] elements, Comparator<? super E> comparator) {
+        order = Merge.objectOrder(comparator);
+        List<Object[]> levels = new ArrayList<>();
+        levels.add(elements);
+        Object[] level = elements;
+        while (level.length > BLOCK) {
+            Object[] upper = new Object[(level.length + BLOCK - 1) / BLOCK];
+            for (int i = 0; i < upper.length; i++) {
+                upper[i] = level[Math.min(level.length, (i + 1) * BLOCK) - 1];
+            }
+            levels.add(0, upper);
+            level = upper;
+        }
+        this.levels = levels.toArray(new Object[0][]);
+    }
+
+    @Override
+    public int search(Object key, int from, int to) {
+        int pos = 0;
+        for (Object[] level : levels) {
+            pos = scan(level, pos, key);
+        }
+        Object[] elements = levels[levels.length - 1];
+        if (from <= pos && pos < to && order.compare(elements[pos], key) == 0) {
+            return pos;
+        }
+        return -Math.max(from, Math.min(pos, to)) - 1;
+    }
+
+    private int scan(Object[] level, int block, Object key) {
+        int low = block * BLOCK;
+        int high = Math.min(level.length, low + BLOCK);
+        int end = high;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(level[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < end ? low : level.length;
+    }
+}
@@ -0,0 +1,242 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class ConcurrentArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+    private final AtomicReference<ArraySet<E>> root;
+    private final Function<ArraySet<E>, ArraySet<E>> range;
+
+    public ConcurrentArraySet() {
+        this(Collections.emptyList(), null);
+    }
+
+    public ConcurrentArraySet(Collection<E> collection) {
+        this(collection, null);
+    }
+
+    public ConcurrentArraySet(Collection<E> collection, Comparator<? super E> comp) {
+        this(new AtomicReference<>(new ArraySet<>(collection, comp)), Function.identity());
+    }
+
+    private ConcurrentArraySet(AtomicReference<ArraySet<E>> root, Function<ArraySet<E>, ArraySet<E>> range) {
+        this.root = root;
+        this.range = range;
+    }
+
+    public ArraySet<E> snapshot() {
+        return range.apply(root.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean publish(Collection<? extends E> added, Collection<?> removed) {
+        synchronized (root) {
+            ArraySet<E> current = root.get();
+            ArraySet<E> next = current;
+            if (!removed.isEmpty()) {
+                next = next.difference(range.apply(new ArraySet<>((Collection<E>) removed, current.comparator())));
+            }
+            if (!added.isEmpty()) {
+                ArraySet<E> fresh = new ArraySet<>((Collection<E>) added, current.comparator());
+                if (range.apply(fresh).size() != fresh.size()) {
+                    throw new IllegalArgumentException("Element out of view range");
+                }
+                next = next.union(fresh);
+            }
+            if (next.size() == current.size() && (removed.isEmpty() || added.isEmpty() || next.containsAll(current))) {
+                return false;
+            }
+            root.set(next);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        return addAll(Collections.singletonList(e));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        return publish(collection, Collections.emptyList());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return removeAll(Collections.singletonList(o));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        return publish(Collections.emptyList(), collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        synchronized (root) {
+            ArraySet<E> current = root.get();
+            ArraySet<E> view = range.apply(current);
+            ArraySet<E> kept = view.intersection(collection);
+            if (kept.size() == view.size()) {
+                return false;
+            }
+            root.set(view == current ? kept : current.difference(view.difference(kept)));
+            return true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (root) {
+            ArraySet<E> current = root.get();
+            ArraySet<E> view = range.apply(current);
+            if (!view.isEmpty()) {
+                root.set(view == current ? new ArraySet<>(Collections.emptyList(), current.comparator()) : current.difference(view));
+            }
+        }
+    }
+
+    @Override
+    public E pollFirst() {
+        synchronized (root) {
+            ArraySet<E> current = root.get();
+            ArraySet<E> view = range.apply(current);
+            if (view.isEmpty()) {
+                return null;
+            }
+            E first = view.first();
+            root.set(view == current ? (ArraySet<E>) current.tailSet(first, false) : current.difference(Collections.singletonList(first)));
+            return first;
+        }
+    }
+
+    @Override
+    public E pollLast() {
+        synchronized (root) {
+            ArraySet<E> current = root.get();
+            ArraySet<E> view = range.apply(current);
+            if (view.isEmpty()) {
+                return null;
+            }
+            E last = view.last();
+            root.set(view == current ? (ArraySet<E>) current.headSet(last, false) : current.difference(Collections.singletonList(last)));
+            return last;
+        }
+    }
+
+    private ConcurrentArraySet<E> view(Function<NavigableSet<E>, NavigableSet<E>> step) {
+        step.apply(snapshot());
+        return new ConcurrentArraySet<>(root, range.andThen(set -> (ArraySet<E>) step.apply(set)));
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || snapshot().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return snapshot().comparator();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return snapshot().contains(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        return snapshot().containsAll(collection);
+    }
+
+    @Override
+    public E first() {
+        return snapshot().first();
+    }
+
+    @Override
+    public E last() {
+        return snapshot().last();
+    }
+
+    @Override
+    public E lower(E e) {
+        return snapshot().lower(e);
+    }
+
+    @Override
+    public E floor(E e) {
+        return snapshot().floor(e);
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return snapshot().ceiling(e);
+    }
+
+    @Override
+    public E higher(E e) {
+        return snapshot().higher(e);
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return view(NavigableSet::descendingSet);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return snapshot().descendingIterator();
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return view(set -> set.headSet(toElement, inclusive));
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        return view(set -> set.subSet(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return view(set -> set.tailSet(fromElement, inclusive));
+    }
+}
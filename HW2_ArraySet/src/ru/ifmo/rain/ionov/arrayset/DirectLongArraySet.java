@@ -0,0 +1,190 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class DirectLongArraySet extends AbstractArraySet<Long> {
+    static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final LongBuffer[] chunks;
+
+    public DirectLongArraySet() {
+        this(new long[0]);
+    }
+
+    public DirectLongArraySet(long... values) {
+        this(allocate(LongArraySet.sorted(values.clone())), false);
+    }
+
+    public DirectLongArraySet(Collection<Long> collection) {
+        this(allocate(LongArraySet.sorted(collection.stream().mapToLong(Long::longValue).toArray())), false);
+    }
+
+    private DirectLongArraySet(LongBuffer[] chunks, boolean descending) {
+        this(chunks, 0, size(chunks), descending);
+    }
+
+    private DirectLongArraySet(LongBuffer[] chunks, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.chunks = chunks;
+    }
+
+    private static LongBuffer[] allocate(long[] values) {
+        LongBuffer[] chunks = new LongBuffer[chunks(values.length)];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i << CHUNK_SHIFT;
+            int length = Math.min(values.length - from, 1 << CHUNK_SHIFT);
+            chunks[i] = ByteBuffer.allocateDirect(length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            chunks[i].put(values, from, length).flip();
+        }
+        return chunks;
+    }
+
+    private static int chunks(long size) {
+        return (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    private static int size(LongBuffer[] chunks) {
+        long size = 0;
+        for (LongBuffer chunk : chunks) {
+            size += chunk.limit();
+        }
+        return (int) size;
+    }
+
+    public static DirectLongArraySet map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Long.BYTES != 0 || size / Long.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Invalid set file size " + size + ": " + file);
+            }
+            LongBuffer[] chunks = new LongBuffer[chunks(size / Long.BYTES)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = ((long) i << CHUNK_SHIFT) * Long.BYTES;
+                long length = Math.min(size - position, (long) Long.BYTES << CHUNK_SHIFT);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+            return new DirectLongArraySet(chunks, false);
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = from; i < to; i++) {
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putLong(getLong(i));
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private long getLong(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    @Override
+    Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    int search(Object key) {
+        return search((long) (Long) key);
+    }
+
+    int search(long key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = getLong(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    Comparator<? super Long> order() {
+        return null;
+    }
+
+    @Override
+    DirectLongArraySet view(int from, int to, boolean descending) {
+        return new DirectLongArraySet(chunks, from, to, descending);
+    }
+
+    public boolean contains(long e) {
+        return search(e) >= 0;
+    }
+
+    public long firstLong() {
+        return getLong(firstIndex());
+    }
+
+    public long lastLong() {
+        return getLong(lastIndex());
+    }
+
+    public long lower(long e, long absent) {
+        return element(lowerIndex(search(e)), absent);
+    }
+
+    public long floor(long e, long absent) {
+        return element(floorIndex(search(e)), absent);
+    }
+
+    public long ceiling(long e, long absent) {
+        return element(ceilingIndex(search(e)), absent);
+    }
+
+    public long higher(long e, long absent) {
+        return element(higherIndex(search(e)), absent);
+    }
+
+    private long element(int i, long absent) {
+        return i < 0 ? absent : getLong(i);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int next = descending ? to - 1 : from;
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next >= from : next < to;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getLong(descending ? next-- : next++);
+            }
+        };
+    }
+}
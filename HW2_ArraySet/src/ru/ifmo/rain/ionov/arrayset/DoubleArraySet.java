@@ -0,0 +1,130 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+
+public class DoubleArraySet extends AbstractArraySet<Double> {
+    private final double[] elements;
+
+    public DoubleArraySet() {
+        this(new double[0], false);
+    }
+
+    public DoubleArraySet(double... values) {
+        this(sorted(values.clone()), false);
+    }
+
+    public DoubleArraySet(Collection<Double> collection) {
+        this(sorted(collection.stream().mapToDouble(Double::doubleValue).toArray()), false);
+    }
+
+    private DoubleArraySet(double[] elements, boolean descending) {
+        this(elements, 0, elements.length, descending);
+    }
+
+    private DoubleArraySet(double[] elements, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.elements = elements;
+    }
+
+    private static double[] sorted(double[] values) {
+        if (!isSorted(values)) {
+            if (values.length >= ArraySet.PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(values);
+            } else {
+                Arrays.sort(values);
+            }
+        }
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || Double.compare(values[size - 1], values[i]) != 0) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static boolean isSorted(double[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (Double.compare(values[i - 1], values[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Double get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    int search(Object key) {
+        return search((double) (Double) key);
+    }
+
+    int search(double key) {
+        return Arrays.binarySearch(elements, from, to, key);
+    }
+
+    @Override
+    Comparator<? super Double> order() {
+        return null;
+    }
+
+    @Override
+    DoubleArraySet view(int from, int to, boolean descending) {
+        return new DoubleArraySet(elements, from, to, descending);
+    }
+
+    public boolean contains(double e) {
+        return search(e) >= 0;
+    }
+
+    public double firstDouble() {
+        return elements[firstIndex()];
+    }
+
+    public double lastDouble() {
+        return elements[lastIndex()];
+    }
+
+    public double lower(double e, double absent) {
+        return element(lowerIndex(search(e)), absent);
+    }
+
+    public double floor(double e, double absent) {
+        return element(floorIndex(search(e)), absent);
+    }
+
+    public double ceiling(double e, double absent) {
+        return element(ceilingIndex(search(e)), absent);
+    }
+
+    public double higher(double e, double absent) {
+        return element(higherIndex(search(e)), absent);
+    }
+
+    private double element(int i, double absent) {
+        return i < 0 ? absent : elements[i];
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            private int next = descending ? to - 1 : from;
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next >= from : next < to;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[descending ? next-- : next++];
+            }
+        };
+    }
+}
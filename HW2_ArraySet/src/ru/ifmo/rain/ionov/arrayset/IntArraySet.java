@@ -0,0 +1,130 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+
+public class IntArraySet extends AbstractArraySet<Integer> {
+    private final int[] elements;
+
+    public IntArraySet() {
+        this(new int[0], false);
+    }
+
+    public IntArraySet(int... values) {
+        this(sorted(values.clone()), false);
+    }
+
+    public IntArraySet(Collection<Integer> collection) {
+        this(sorted(collection.stream().mapToInt(Integer::intValue).toArray()), false);
+    }
+
+    private IntArraySet(int[] elements, boolean descending) {
+        this(elements, 0, elements.length, descending);
+    }
+
+    private IntArraySet(int[] elements, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.elements = elements;
+    }
+
+    private static int[] sorted(int[] values) {
+        if (!isSorted(values)) {
+            if (values.length >= ArraySet.PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(values);
+            } else {
+                Arrays.sort(values);
+            }
+        }
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || Integer.compare(values[size - 1], values[i]) != 0) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static boolean isSorted(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (Integer.compare(values[i - 1], values[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Integer get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    int search(Object key) {
+        return search((int) (Integer) key);
+    }
+
+    int search(int key) {
+        return Arrays.binarySearch(elements, from, to, key);
+    }
+
+    @Override
+    Comparator<? super Integer> order() {
+        return null;
+    }
+
+    @Override
+    IntArraySet view(int from, int to, boolean descending) {
+        return new IntArraySet(elements, from, to, descending);
+    }
+
+    public boolean contains(int e) {
+        return search(e) >= 0;
+    }
+
+    public int firstInt() {
+        return elements[firstIndex()];
+    }
+
+    public int lastInt() {
+        return elements[lastIndex()];
+    }
+
+    public int lower(int e, int absent) {
+        return element(lowerIndex(search(e)), absent);
+    }
+
+    public int floor(int e, int absent) {
+        return element(floorIndex(search(e)), absent);
+    }
+
+    public int ceiling(int e, int absent) {
+        return element(ceilingIndex(search(e)), absent);
+    }
+
+    public int higher(int e, int absent) {
+        return element(higherIndex(search(e)), absent);
+    }
+
+    private int element(int i, int absent) {
+        return i < 0 ? absent : elements[i];
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = descending ? to - 1 : from;
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next >= from : next < to;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[descending ? next-- : next++];
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.Arrays;
+
+class IntKeySearch implements KeySearch {
+    private final int[] keys;
+
+    private IntKeySearch(int[] keys) {
+        this.keys = keys;
+    }
+
+    static IntKeySearch of(Object[] elements) {
+        int[] keys = new int[elements.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (!(elements[i] instanceof Integer)) {
+                return null;
+            }
+            keys[i] = (Integer) elements[i];
+        }
+        return new IntKeySearch(keys);
+    }
+
+    @Override
+    public int search(Object key, int from, int to) {
+        return Arrays.binarySearch(keys, from, to, (Integer) key);
+    }
+}
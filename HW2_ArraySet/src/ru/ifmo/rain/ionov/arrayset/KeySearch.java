@@ -0,0 +1,24 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.Comparator;
+
+interface KeySearch {
+    int search(Object key, int from, int to);
+
+    static <E> KeySearch of(Object[] elements, Comparator<? super E> comparator) {
+        if (comparator == null && elements.length > 0) {
+            KeySearch search = null;
+            if (elements[0] instanceof Integer) {
+                search = IntKeySearch.of(elements);
+            } else if (elements[0] instanceof Long) {
+                search = LongKeySearch.of(elements);
+            } else if (elements[0] instanceof String) {
+                search = StringKeySearch.of(elements);
+            }
+            if (search != null) {
+                return search;
+            }
+        }
+        return elements.length >= ArraySet.INDEX_THRESHOLD ? new BlockIndex<>(elements, comparator) : null;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+
+public class LongArraySet extends AbstractArraySet<Long> {
+    private final long[] elements;
+
+    public LongArraySet() {
+        this(new long[0], false);
+    }
+
+    public LongArraySet(long... values) {
+        this(sorted(values.clone()), false);
+    }
+
+    public LongArraySet(Collection<Long> collection) {
+        this(sorted(collection.stream().mapToLong(Long::longValue).toArray()), false);
+    }
+
+    private LongArraySet(long[] elements, boolean descending) {
+        this(elements, 0, elements.length, descending);
+    }
+
+    private LongArraySet(long[] elements, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.elements = elements;
+    }
+
+    static long[] sorted(long[] values) {
+        if (!isSorted(values)) {
+            if (values.length >= ArraySet.PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(values);
+            } else {
+                Arrays.sort(values);
+            }
+        }
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || Long.compare(values[size - 1], values[i]) != 0) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static boolean isSorted(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (Long.compare(values[i - 1], values[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Long get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    int search(Object key) {
+        return search((long) (Long) key);
+    }
+
+    int search(long key) {
+        return Arrays.binarySearch(elements, from, to, key);
+    }
+
+    @Override
+    Comparator<? super Long> order() {
+        return null;
+    }
+
+    @Override
+    LongArraySet view(int from, int to, boolean descending) {
+        return new LongArraySet(elements, from, to, descending);
+    }
+
+    public boolean contains(long e) {
+        return search(e) >= 0;
+    }
+
+    public long firstLong() {
+        return elements[firstIndex()];
+    }
+
+    public long lastLong() {
+        return elements[lastIndex()];
+    }
+
+    public long lower(long e, long absent) {
+        return element(lowerIndex(search(e)), absent);
+    }
+
+    public long floor(long e, long absent) {
+        return element(floorIndex(search(e)), absent);
+    }
+
+    public long ceiling(long e, long absent) {
+        return element(ceilingIndex(search(e)), absent);
+    }
+
+    public long higher(long e, long absent) {
+        return element(higherIndex(search(e)), absent);
+    }
+
+    private long element(int i, long absent) {
+        return i < 0 ? absent : elements[i];
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int next = descending ? to - 1 : from;
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next >= from : next < to;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[descending ? next-- : next++];
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.Arrays;
+
+class LongKeySearch implements KeySearch {
+    private final long[] keys;
+
+    private LongKeySearch(long[] keys) {
+        this.keys = keys;
+    }
+
+    static LongKeySearch of(Object[] elements) {
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (!(elements[i] instanceof Long)) {
+                return null;
+            }
+            keys[i] = (Long) elements[i];
+        }
+        return new LongKeySearch(keys);
+    }
+
+    @Override
+    public int search(Object key, int from, int to) {
+        return Arrays.binarySearch(keys, from, to, (Long) key);
+    }
+}
@@ -0,0 +1,229 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class MappedArraySet<E> extends AbstractArraySet<E> {
+    static final int MAGIC = 0x41534554;
+    static final int VERSION = 1;
+    static final int PAGE = 4096;
+
+    private static final List<Class<?>> TYPES = Arrays.asList(Integer.class, Long.class, Double.class, String.class);
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int STRING = 3;
+
+    private final int type;
+    private final ByteBuffer data;
+    private final ByteBuffer records;
+
+    private MappedArraySet(int type, ByteBuffer data, ByteBuffer records, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.type = type;
+        this.data = data;
+        this.records = records;
+    }
+
+    public static <E> MappedArraySet<E> map(Path file, Class<E> elementType) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(PAGE, channel.size())).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.remaining() < 32 || header.getInt(0) != MAGIC) {
+                throw new IOException("Not an array set file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported array set file version " + header.getInt(4) + ": " + file);
+            }
+            int type = header.getInt(8);
+            int size = header.getInt(12);
+            if (type < 0 || type >= TYPES.size() || size > 0 && TYPES.get(type) != elementType) {
+                throw new IOException("Array set file " + file + " does not contain " + elementType.getSimpleName() + " elements");
+            }
+            long length = channel.size();
+            long dataOffset = header.getLong(16);
+            long recordsOffset = header.getLong(24);
+            if (size < 0) {
+                throw corrupted(file, "negative size " + size);
+            }
+            long dataLength = (long) size * width(type);
+            if (dataOffset < 0 || dataOffset % width(type) != 0) {
+                throw corrupted(file, "misaligned data offset " + dataOffset);
+            }
+            if (dataLength > Integer.MAX_VALUE || dataOffset > length - dataLength) {
+                throw corrupted(file, size + " elements at offset " + dataOffset + " exceed file size " + length);
+            }
+            long recordsLength = length - recordsOffset;
+            if (type == STRING) {
+                if (recordsOffset < dataOffset + dataLength || recordsOffset % Integer.BYTES != 0) {
+                    throw corrupted(file, "misplaced records offset " + recordsOffset);
+                }
+                if (recordsOffset > length || recordsLength > Integer.MAX_VALUE) {
+                    throw corrupted(file, "records at offset " + recordsOffset + " do not fit file size " + length);
+                }
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, dataLength).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer records = type != STRING ? null
+                    : channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset, recordsLength).order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedArraySet<>(type, data, records, 0, size, false);
+        }
+    }
+
+    public static void write(Path file, SortedSet<?> set) throws IOException {
+        if (set.comparator() != null) {
+            throw new IllegalArgumentException("Only naturally ordered sets can be written");
+        }
+        int type = set.isEmpty() ? INT : TYPES.indexOf(set.first().getClass());
+        for (Object element : set) {
+            if (type < 0 || element.getClass() != TYPES.get(type)) {
+                throw new IllegalArgumentException("Unsupported element " + element);
+            }
+        }
+        long dataOffset = PAGE;
+        long dataLength = (long) set.size() * width(type);
+        long recordsOffset = align(dataOffset + dataLength);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(type).putInt(set.size()).putLong(dataOffset).putLong(recordsOffset);
+            pad(channel, buffer, dataOffset);
+            long position = 0;
+            for (Object element : set) {
+                ensure(channel, buffer, Long.BYTES);
+                switch (type) {
+                    case INT:
+                        buffer.putInt((Integer) element);
+                        break;
+                    case LONG:
+                        buffer.putLong((Long) element);
+                        break;
+                    case DOUBLE:
+                        buffer.putDouble((Double) element);
+                        break;
+                    default:
+                        buffer.putLong(position);
+                        position += Integer.BYTES + (long) Character.BYTES * ((String) element).length();
+                }
+            }
+            if (type == STRING) {
+                pad(channel, buffer, recordsOffset);
+                for (Object element : set) {
+                    String s = (String) element;
+                    ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(s.length());
+                    for (int i = 0; i < s.length(); i++) {
+                        ensure(channel, buffer, Character.BYTES);
+                        buffer.putChar(s.charAt(i));
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static IOException corrupted(Path file, String reason) {
+        return new IOException("Corrupted array set file " + file + ": " + reason);
+    }
+
+    private static int width(int type) {
+        return type == INT ? Integer.BYTES : Long.BYTES;
+    }
+
+    private static long align(long position) {
+        return (position + PAGE - 1) / PAGE * PAGE;
+    }
+
+    private static void pad(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (channel.position() + buffer.position() < offset) {
+            ensure(channel, buffer, 1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        switch (type) {
+            case INT:
+                return (E) Integer.valueOf(data.getInt(index * Integer.BYTES));
+            case LONG:
+                return (E) Long.valueOf(data.getLong(index * Long.BYTES));
+            case DOUBLE:
+                return (E) Double.valueOf(data.getDouble(index * Long.BYTES));
+            default:
+                int position = (int) data.getLong(index * Long.BYTES);
+                char[] chars = new char[records.getInt(position)];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = records.getChar(position + Integer.BYTES + i * Character.BYTES);
+                }
+                return (E) new String(chars);
+        }
+    }
+
+    @Override
+    int search(Object key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(mid, key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compare(int index, Object key) {
+        switch (type) {
+            case INT:
+                return Integer.compare(data.getInt(index * Integer.BYTES), (Integer) key);
+            case LONG:
+                return Long.compare(data.getLong(index * Long.BYTES), (Long) key);
+            case DOUBLE:
+                return Double.compare(data.getDouble(index * Long.BYTES), (Double) key);
+            default:
+                String s = (String) key;
+                int position = (int) data.getLong(index * Long.BYTES);
+                int length = records.getInt(position);
+                for (int i = 0; i < Math.min(length, s.length()); i++) {
+                    int c = records.getChar(position + Integer.BYTES + i * Character.BYTES) - s.charAt(i);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return length - s.length();
+        }
+    }
+
+    @Override
+    Comparator<? super E> order() {
+        return null;
+    }
+
+    @Override
+    MappedArraySet<E> view(int from, int to, boolean descending) {
+        return new MappedArraySet<>(type, data, records, from, to, descending);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+final class Merge {
+    private Merge() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> Comparator<? super E> order(Comparator<? super E> comparator) {
+        return comparator == null ? (Comparator<? super E>) Comparator.naturalOrder() : comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> Comparator<Object> objectOrder(Comparator<? super E> comparator) {
+        return (Comparator<Object>) order(comparator);
+    }
+
+    static <E> List<E> union(Iterable<E> a, Iterable<E> b, Comparator<? super E> comparator) {
+        Comparator<? super E> order = order(comparator);
+        List<E> result = new ArrayList<>();
+        Iterator<E> i = a.iterator();
+        Iterator<E> j = b.iterator();
+        boolean hasX = i.hasNext();
+        boolean hasY = j.hasNext();
+        E x = hasX ? i.next() : null;
+        E y = hasY ? j.next() : null;
+        while (hasX && hasY) {
+            int c = order.compare(x, y);
+            if (c <= 0) {
+                result.add(x);
+                if (hasX = i.hasNext()) {
+                    x = i.next();
+                }
+                if (c == 0 && (hasY = j.hasNext())) {
+                    y = j.next();
+                }
+            } else {
+                result.add(y);
+                if (hasY = j.hasNext()) {
+                    y = j.next();
+                }
+            }
+        }
+        if (hasX) {
+            result.add(x);
+            i.forEachRemaining(result::add);
+        }
+        if (hasY) {
+            result.add(y);
+            j.forEachRemaining(result::add);
+        }
+        return result;
+    }
+
+    static <E> List<E> difference(Iterable<E> a, Iterable<E> b, Comparator<? super E> comparator) {
+        Comparator<? super E> order = order(comparator);
+        List<E> result = new ArrayList<>();
+        Iterator<E> i = a.iterator();
+        Iterator<E> j = b.iterator();
+        boolean hasY = j.hasNext();
+        E y = hasY ? j.next() : null;
+        while (i.hasNext()) {
+            E x = i.next();
+            int c = -1;
+            while (hasY && (c = order.compare(x, y)) > 0) {
+                if (hasY = j.hasNext()) {
+                    y = j.next();
+                }
+                c = -1;
+            }
+            if (c < 0) {
+                result.add(x);
+            }
+        }
+        return result;
+    }
+
+    static <E> List<E> intersection(Iterable<E> a, Iterable<E> b, Comparator<? super E> comparator) {
+        Comparator<? super E> order = order(comparator);
+        List<E> result = new ArrayList<>();
+        Iterator<E> i = a.iterator();
+        Iterator<E> j = b.iterator();
+        if (!i.hasNext() || !j.hasNext()) {
+            return result;
+        }
+        E x = i.next();
+        E y = j.next();
+        while (true) {
+            int c = order.compare(x, y);
+            if (c == 0) {
+                result.add(x);
+            }
+            if (c <= 0) {
+                if (!i.hasNext()) {
+                    return result;
+                }
+                x = i.next();
+            }
+            if (c >= 0) {
+                if (!j.hasNext()) {
+                    return result;
+                }
+                y = j.next();
+            }
+        }
+    }
+
+    static <E> boolean containsAll(Iterable<E> a, Iterable<E> b, Comparator<? super E> comparator) {
+        Comparator<? super E> order = order(comparator);
+        Iterator<E> i = a.iterator();
+        Iterator<E> j = b.iterator();
+        while (j.hasNext()) {
+            E y = j.next();
+            int c = -1;
+            while (c < 0) {
+                if (!i.hasNext()) {
+                    return false;
+                }
+                c = order.compare(i.next(), y);
+            }
+            if (c > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,251 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import java.util.*;
+
+public class PersistentArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+    private final NavigableSet<E> base;
+    private final NavigableSet<E> added;
+    private final NavigableSet<E> removed;
+    private final int buffer;
+
+    public PersistentArraySet() {
+        this(Collections.emptyList(), null);
+    }
+
+    public PersistentArraySet(Collection<E> collection) {
+        this(collection, null);
+    }
+
+    public PersistentArraySet(Collection<E> collection, Comparator<? super E> comp) {
+        this(collection, comp, 0);
+    }
+
+    public PersistentArraySet(Collection<E> collection, Comparator<? super E> comp, int buffer) {
+        this(new ArraySet<>(collection, comp), new ArraySet<>(Collections.emptyList(), comp), new ArraySet<>(Collections.emptyList(), comp), buffer);
+        if (buffer < 0) {
+            throw new IllegalArgumentException("Negative buffer size " + buffer);
+        }
+    }
+
+    private PersistentArraySet(NavigableSet<E> base, NavigableSet<E> added, NavigableSet<E> removed, int buffer) {
+        this.base = base;
+        this.added = added;
+        this.removed = removed;
+        this.buffer = buffer;
+    }
+
+    public PersistentArraySet<E> withAll(Collection<E> collection) {
+        NavigableSet<E> delta = new ArraySet<>(collection, comparator());
+        if (delta.isEmpty()) {
+            return this;
+        }
+        if (delta.size() > buffer) {
+            return compact(Merge.union(this, delta, comparator()));
+        }
+        List<E> fresh = new ArrayList<>();
+        for (E e : delta) {
+            if (!base.contains(e)) {
+                fresh.add(e);
+            }
+        }
+        return update(Merge.union(added, fresh, comparator()), Merge.difference(removed, delta, comparator()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public PersistentArraySet<E> withoutAll(Collection<?> collection) {
+        NavigableSet<E> delta = new ArraySet<>((Collection<E>) collection, comparator());
+        if (delta.isEmpty()) {
+            return this;
+        }
+        if (delta.size() > buffer) {
+            return compact(Merge.difference(this, delta, comparator()));
+        }
+        List<E> stale = new ArrayList<>();
+        for (E e : delta) {
+            if (base.contains(e)) {
+                stale.add(e);
+            }
+        }
+        return update(Merge.difference(added, delta, comparator()), Merge.union(removed, stale, comparator()));
+    }
+
+    public PersistentArraySet<E> compact() {
+        return added.isEmpty() && removed.isEmpty() ? this : compact(new ArrayList<>(this));
+    }
+
+    private PersistentArraySet<E> update(List<E> added, List<E> removed) {
+        if (added.size() + removed.size() > buffer) {
+            return compact(Merge.union(Merge.difference(base, removed, comparator()), added, comparator()));
+        }
+        return new PersistentArraySet<>(base, new ArraySet<>(added, comparator()), new ArraySet<>(removed, comparator()), buffer);
+    }
+
+    private PersistentArraySet<E> compact(List<E> elements) {
+        return new PersistentArraySet<>(elements, comparator(), buffer);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Iterator<E> bases = base.iterator();
+            private final Iterator<E> adds = added.iterator();
+            private final Comparator<? super E> order = Merge.order(comparator());
+            private boolean hasB;
+            private boolean hasA;
+            private E b;
+            private E a;
+
+            {
+                nextBase();
+                nextAdded();
+            }
+
+            private void nextBase() {
+                while (hasB = bases.hasNext()) {
+                    b = bases.next();
+                    if (!removed.contains(b)) {
+                        return;
+                    }
+                }
+            }
+
+            private void nextAdded() {
+                if (hasA = adds.hasNext()) {
+                    a = adds.next();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return hasA || hasB;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                E result;
+                if (!hasA || hasB && order.compare(b, a) < 0) {
+                    result = b;
+                    nextBase();
+                } else {
+                    result = a;
+                    nextAdded();
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return base.comparator();
+    }
+
+    @Override
+    public int size() {
+        return base.size() - removed.size() + added.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return added.contains(o) || base.contains(o) && !removed.contains(o);
+    }
+
+    @Override
+    public E first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No first element");
+        }
+        return iterator().next();
+    }
+
+    @Override
+    public E last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No last element");
+        }
+        return descendingIterator().next();
+    }
+
+    @Override
+    public E floor(E e) {
+        return lastOrNull(headSet(e, true));
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return firstOrNull(tailSet(e, true));
+    }
+
+    @Override
+    public E higher(E e) {
+        return firstOrNull(tailSet(e, false));
+    }
+
+    @Override
+    public E lower(E e) {
+        return lastOrNull(headSet(e, false));
+    }
+
+    private static <E> E firstOrNull(NavigableSet<E> set) {
+        return set.isEmpty() ? null : set.first();
+    }
+
+    private static <E> E lastOrNull(NavigableSet<E> set) {
+        return set.isEmpty() ? null : set.last();
+    }
+
+    @Override
+    public E pollFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public E pollLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return new PersistentArraySet<>(base.descendingSet(), added.descendingSet(), removed.descendingSet(), buffer);
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return new PersistentArraySet<>(base.headSet(toElement, inclusive), added.headSet(toElement, inclusive), removed.headSet(toElement, inclusive), buffer);
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        return new PersistentArraySet<>(base.subSet(fromElement, fromInclusive, toElement, toInclusive),
+                added.subSet(fromElement, fromInclusive, toElement, toInclusive),
+                removed.subSet(fromElement, fromInclusive, toElement, toInclusive), buffer);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return new PersistentArraySet<>(base.tailSet(fromElement, inclusive), added.tailSet(fromElement, inclusive), removed.tailSet(fromElement, inclusive), buffer);
+    }
+}
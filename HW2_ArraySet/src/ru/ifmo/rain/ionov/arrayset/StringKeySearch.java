@@ -0,0 +1,53 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+class StringKeySearch implements KeySearch {
+    private final Object[] elements;
+    private final long[] prefixes;
+
+    private StringKeySearch(Object[] elements, long[] prefixes) {
+        this.elements = elements;
+        this.prefixes = prefixes;
+    }
+
+    static StringKeySearch of(Object[] elements) {
+        long[] prefixes = new long[elements.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            if (!(elements[i] instanceof String)) {
+                return null;
+            }
+            prefixes[i] = prefix((String) elements[i]);
+        }
+        return new StringKeySearch(elements, prefixes);
+    }
+
+    private static long prefix(String s) {
+        long prefix = 0;
+        for (int i = 0; i < 4; i++) {
+            prefix = prefix << 16 | (i < s.length() ? s.charAt(i) : 0);
+        }
+        return prefix;
+    }
+
+    @Override
+    public int search(Object key, int from, int to) {
+        String s = (String) key;
+        long prefix = prefix(s);
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = Long.compareUnsigned(prefixes[mid], prefix);
+            if (c == 0) {
+                c = ((String) elements[mid]).compareTo(s);
+            }
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
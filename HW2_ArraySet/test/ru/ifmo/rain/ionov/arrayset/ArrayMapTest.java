@@ -0,0 +1,91 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ArrayMapTest {
+    @Test
+    public void test01_lookups() {
+        final Map<Integer, String> source = new HashMap<>();
+        source.put(3, "c");
+        source.put(1, "a");
+        source.put(2, "b");
+        final ArrayMap<Integer, String> map = new ArrayMap<>(source);
+        Assert.assertEquals(new TreeMap<>(source), map);
+        Assert.assertEquals("b", map.get(2));
+        Assert.assertNull(map.get(4));
+        Assert.assertTrue(map.containsKey(3));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(map.keySet()));
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void test02_views() {
+        final TreeMap<Integer, String> source = new TreeMap<>();
+        for (int i = 0; i < 10; i++) {
+            source.put(i * 10, "v" + i);
+        }
+        final ArrayMap<Integer, String> map = new ArrayMap<>(source);
+        Assert.assertEquals(source.headMap(30), map.headMap(30));
+        Assert.assertEquals(source.tailMap(55, false), map.tailMap(55, false));
+        Assert.assertEquals(source.subMap(20, true, 60, true), map.subMap(20, true, 60, true));
+        Assert.assertEquals(new ArrayList<>(source.descendingMap().entrySet()), new ArrayList<>(map.descendingMap().entrySet()));
+        Assert.assertEquals(new ArrayList<>(source.descendingKeySet()), new ArrayList<>(map.descendingKeySet()));
+        Assert.assertEquals("v4", map.subMap(20, 60).get(40));
+        Assert.assertNull(map.subMap(20, 60).get(70));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test03_readOnly() {
+        new ArrayMap<>(Collections.singletonMap(1, "a")).put(2, "b");
+    }
+
+    @Test
+    public void test04_random() {
+        final Random random = new Random(22);
+        for (int t = 0; t < 200; t++) {
+            final Comparator<Integer> order = random.nextBoolean() ? null : Comparator.reverseOrder();
+            final TreeMap<Integer, Integer> expected = new TreeMap<>(order);
+            for (int i = random.nextInt(50); i > 0; i--) {
+                expected.put(random.nextInt(100), random.nextInt());
+            }
+            final ArrayMap<Integer, Integer> map = new ArrayMap<>(expected, order);
+            for (int i = 0; i < 20; i++) {
+                final Integer key = random.nextInt(110) - 5;
+                Assert.assertEquals(expected.get(key), map.get(key));
+                Assert.assertEquals(expected.floorEntry(key), map.floorEntry(key));
+                Assert.assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key));
+                Assert.assertEquals(expected.lowerKey(key), map.lowerKey(key));
+                Assert.assertEquals(expected.higherKey(key), map.higherKey(key));
+                Assert.assertEquals(expected.headMap(key, true), map.headMap(key, true));
+                Assert.assertEquals(expected.descendingMap().tailMap(key, false), map.descendingMap().tailMap(key, false));
+            }
+            if (!expected.isEmpty()) {
+                Assert.assertEquals(expected.firstEntry(), map.firstEntry());
+                Assert.assertEquals(expected.lastKey(), map.lastKey());
+            }
+        }
+    }
+
+    @Test
+    public void test05_singleKeyCheck() {
+        try {
+            new ArrayMap<>(Collections.singletonMap((Integer) null, 1));
+            Assert.fail("Null key should be rejected under natural ordering");
+        } catch (final NullPointerException ignored) {
+        }
+        try {
+            new ArrayMap<>(Collections.singletonMap(new Object(), 1));
+            Assert.fail("Non-comparable key should be rejected under natural ordering");
+        } catch (final ClassCastException ignored) {
+        }
+        final ArrayMap<Integer, Integer> map = new ArrayMap<>(Collections.singletonMap((Integer) null, 1), Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+        Assert.assertEquals(Integer.valueOf(1), map.get(null));
+        Assert.assertNull(map.firstKey());
+    }
+}
@@ -0,0 +1,50 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ArraySetTest {
+    @Test
+    public void test01_sortsAndDeduplicates() {
+        Assert.assertEquals(asList(1, 2, 3), new ArrayList<>(new ArraySet<>(asList(3, 1, 2, 3, 1))));
+        Assert.assertEquals(asList(3, 2, 1), new ArrayList<>(new ArraySet<>(asList(1, 2, 3, 2), Comparator.reverseOrder())));
+    }
+
+    @Test
+    public void test02_keepsFirstOfEqualElements() {
+        final List<String> elements = asList("b", "A", "a", "B");
+        final TreeSet<String> expected = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        expected.addAll(elements);
+        Assert.assertEquals(new ArrayList<>(expected), new ArrayList<>(new ArraySet<>(elements, String.CASE_INSENSITIVE_ORDER)));
+    }
+
+    @Test
+    public void test03_nullNaturalOrder() {
+        for (final List<Integer> elements : Arrays.<List<Integer>>asList(Collections.singletonList(null), asList(1, null), asList(null, 1, 2))) {
+            try {
+                new ArraySet<>(elements);
+                Assert.fail("Null element " + elements + " should be rejected under natural ordering");
+            } catch (final NullPointerException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void test04_nullComparator() {
+        final ArraySet<Integer> set = new ArraySet<>(Collections.<Integer>singletonList(null), Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+        Assert.assertEquals(1, set.size());
+        Assert.assertTrue(set.contains(null));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test05_notComparable() {
+        new ArraySet<>(Collections.singletonList(new Object()));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BatchLookupTest {
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Integer> NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+
+    @Test
+    public void test01_nullProbe() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(1, 3, 5), NULLS_LAST);
+        final List<Integer> keys = asList(null, 3);
+        final BitSet contained = new BitSet();
+        contained.set(1);
+        Assert.assertEquals(contained, set.containsEach(keys));
+        Assert.assertEquals(contained, set.parallelContainsEach(keys));
+        Assert.assertEquals(asList(5, 3), set.floorAll(keys));
+        Assert.assertEquals(asList(5, 3), set.parallelFloorAll(keys));
+        Assert.assertEquals(asList(null, 3), set.ceilingAll(keys));
+        Assert.assertEquals(asList(null, 3), set.parallelCeilingAll(keys));
+    }
+
+    @Test
+    public void test02_natural() {
+        check(null, false);
+    }
+
+    @Test
+    public void test03_reversed() {
+        check(Comparator.reverseOrder(), false);
+    }
+
+    @Test
+    public void test04_nullsFirst() {
+        check(NULLS_FIRST, true);
+    }
+
+    @Test
+    public void test05_nullsLast() {
+        check(NULLS_LAST, true);
+    }
+
+    private static void check(final Comparator<Integer> comparator, final boolean nulls) {
+        final Random random = new Random(20);
+        for (final int size : new int[]{0, 1, 10, 1000}) {
+            final List<Integer> elements = randomList(random, size, nulls);
+            final TreeSet<Integer> expected = new TreeSet<>(comparator);
+            expected.addAll(elements);
+            final ArraySet<Integer> set = new ArraySet<>(elements, comparator);
+            for (final int batch : new int[]{1, 2, 100, 10_000}) {
+                final List<Integer> unsorted = randomList(random, batch, nulls);
+                final List<Integer> sorted = new ArrayList<>(unsorted);
+                sorted.sort(comparator == null ? Comparator.naturalOrder() : comparator);
+                for (final List<Integer> keys : asList(unsorted, sorted)) {
+                    final BitSet contained = new BitSet();
+                    final List<Integer> floors = new ArrayList<>();
+                    final List<Integer> ceilings = new ArrayList<>();
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (expected.contains(keys.get(i))) {
+                            contained.set(i);
+                        }
+                        floors.add(expected.floor(keys.get(i)));
+                        ceilings.add(expected.ceiling(keys.get(i)));
+                    }
+                    final String context = "size " + size + ", keys " + (keys.size() <= 2 ? keys : keys.size());
+                    Assert.assertEquals(context, contained, set.containsEach(keys));
+                    Assert.assertEquals(context, contained, set.parallelContainsEach(keys));
+                    Assert.assertEquals(context, floors, set.floorAll(keys));
+                    Assert.assertEquals(context, floors, set.parallelFloorAll(keys));
+                    Assert.assertEquals(context, ceilings, set.ceilingAll(keys));
+                    Assert.assertEquals(context, ceilings, set.parallelCeilingAll(keys));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> randomList(final Random random, final int size, final boolean nulls) {
+        final List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(nulls && random.nextInt(10) == 0 ? null : random.nextInt(2 * size + 10) - 5);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BlockIndexTest {
+    @Test
+    public void test01_matchesBinarySearch() {
+        final Random random = new Random(14);
+        final Comparator<Integer> order = Comparator.reverseOrder();
+        for (final int size : new int[]{0, 1, 15, 16, 17, 255, 256, 257, 5000}) {
+            final Integer[] elements = random.ints(size, 0, 4 * size + 1).boxed().distinct().sorted(order).toArray(Integer[]::new);
+            final BlockIndex<Integer> index = new BlockIndex<>(elements, order);
+            for (int i = 0; i < 1000; i++) {
+                final int from = random.nextInt(elements.length + 1);
+                final int to = from + random.nextInt(elements.length - from + 1);
+                final Integer key = random.nextInt(4 * size + 3) - 1;
+                final int expected = Arrays.binarySearch(elements, from, to, key, order);
+                Assert.assertEquals(size + " [" + from + ", " + to + ") " + key, expected, index.search(key, from, to));
+            }
+        }
+    }
+}
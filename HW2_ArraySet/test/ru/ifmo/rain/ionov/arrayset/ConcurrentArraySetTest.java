@@ -0,0 +1,146 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ConcurrentArraySetTest {
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Test
+    public void test01_mutators() {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>(asList(5, 1, 3));
+        Assert.assertTrue(set.add(2));
+        Assert.assertFalse(set.add(3));
+        Assert.assertTrue(set.remove(5));
+        Assert.assertFalse(set.remove(4));
+        Assert.assertEquals(asList(1, 2, 3), new ArrayList<>(set));
+        Assert.assertTrue(set.retainAll(asList(2, 3, 4)));
+        Assert.assertEquals(Integer.valueOf(2), set.pollFirst());
+        Assert.assertEquals(Integer.valueOf(3), set.pollLast());
+        Assert.assertNull(set.pollFirst());
+        Assert.assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void test02_publish() {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>(asList(1, 2, 3));
+        final ArraySet<Integer> before = set.snapshot();
+        Assert.assertTrue(set.publish(asList(4, 5), asList(1, 2)));
+        Assert.assertFalse(set.publish(asList(4), asList(7)));
+        Assert.assertTrue(set.publish(asList(1), asList(1)));
+        Assert.assertEquals(asList(1, 2, 3), new ArrayList<>(before));
+        Assert.assertEquals(asList(1, 3, 4, 5), new ArrayList<>(set));
+    }
+
+    @Test
+    public void test03_nullsFirst() {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>(asList(1, 2), NULLS_FIRST);
+        Assert.assertTrue(set.add(null));
+        Assert.assertEquals(asList(null, 1, 2), new ArrayList<>(set));
+        Assert.assertTrue(set.contains(null));
+        Assert.assertTrue(set.remove(null));
+        Assert.assertEquals(asList(1, 2), new ArrayList<>(set));
+    }
+
+    @Test
+    public void test04_liveViews() {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>(asList(1, 3, 5, 7));
+        final NavigableSet<Integer> head = set.headSet(5, false);
+        final NavigableSet<Integer> descending = set.descendingSet();
+
+        set.add(2);
+        Assert.assertEquals(asList(1, 2, 3), new ArrayList<>(head));
+        Assert.assertEquals(asList(7, 5, 3, 2, 1), new ArrayList<>(descending));
+
+        Assert.assertTrue(head.add(4));
+        Assert.assertTrue(head.remove(1));
+        Assert.assertFalse(head.remove(7));
+        Assert.assertEquals(asList(2, 3, 4, 5, 7), new ArrayList<>(set));
+        Assert.assertEquals(Integer.valueOf(4), head.pollLast());
+        Assert.assertEquals(Integer.valueOf(7), descending.pollFirst());
+
+        head.clear();
+        Assert.assertEquals(asList(5), new ArrayList<>(set));
+        Assert.assertTrue(set.tailSet(5, true).retainAll(Collections.emptyList()));
+        Assert.assertTrue(set.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test05_outOfRange() {
+        new ConcurrentArraySet<>(asList(1, 3, 5)).subSet(2, 4).add(5);
+    }
+
+    @Test
+    public void test06_concurrentReaders() throws Exception {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final ExecutorService readers = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(readers.submit(() -> {
+                while (!stop.get()) {
+                    final ArraySet<Integer> snapshot = set.snapshot();
+                    int count = 0;
+                    Integer previous = null;
+                    for (final Integer e : snapshot) {
+                        Assert.assertTrue(previous == null || previous < e);
+                        previous = e;
+                        count++;
+                    }
+                    Assert.assertEquals(snapshot.size(), count);
+                }
+            }));
+        }
+        for (int i = 0; i < 2000; i++) {
+            set.publish(asList(i, i + 1, i + 2), Collections.singletonList(i - 5));
+        }
+        stop.set(true);
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        readers.shutdown();
+        Assert.assertEquals(asList(1995, 1996, 1997, 1998, 1999, 2000, 2001), new ArrayList<>(set));
+    }
+
+    @Test
+    public void test07_consistentSnapshots() throws Exception {
+        final ConcurrentArraySet<Integer> set = new ConcurrentArraySet<>(asList(1, 2, 3));
+        final AtomicBoolean stop = new AtomicBoolean();
+        final Thread writer = new Thread(() -> {
+            while (!stop.get()) {
+                set.add(4);
+                set.remove(4);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                final Spliterator<Integer> spliterator = set.spliterator();
+                Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+                final long size = spliterator.getExactSizeIfKnown();
+                final long[] count = {0};
+                spliterator.forEachRemaining(e -> count[0]++);
+                Assert.assertEquals(size, count[0]);
+                Assert.assertEquals(set, set);
+                final int hash = set.hashCode();
+                Assert.assertTrue(hash == 6 || hash == 10);
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+        Assert.assertEquals(new TreeSet<>(asList(1, 2, 3)), set);
+        Assert.assertEquals(new TreeSet<>(asList(1, 2, 3)).hashCode(), set.hashCode());
+    }
+}
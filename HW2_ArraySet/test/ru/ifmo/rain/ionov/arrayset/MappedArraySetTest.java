@@ -0,0 +1,130 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MappedArraySetTest {
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("mapped", ".set");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void test01_roundTrip() throws IOException {
+        final Random random = new Random(25);
+        check(new TreeSet<>(random.ints(1000).boxed().collect(Collectors.toList())), Integer.class);
+        check(new TreeSet<>(random.longs(1000).boxed().collect(Collectors.toList())), Long.class);
+        check(new TreeSet<>(random.doubles(1000).boxed().collect(Collectors.toList())), Double.class);
+        check(new TreeSet<>(IntStream.range(0, 1000).mapToObj(i -> Long.toString(random.nextLong(), 36)).collect(Collectors.toList())), String.class);
+        check(new TreeSet<>(asList("", "a", "\u8acb\u554f", "ab")), String.class);
+        check(new TreeSet<Integer>(), Integer.class);
+    }
+
+    @Test
+    public void test02_navigation() throws IOException {
+        MappedArraySet.write(file, new TreeSet<>(asList(10, 20, 30, 40)));
+        final MappedArraySet<Integer> set = MappedArraySet.map(file, Integer.class);
+        Assert.assertTrue(set.contains(30));
+        Assert.assertFalse(set.contains(35));
+        Assert.assertEquals(Integer.valueOf(30), set.floor(35));
+        Assert.assertEquals(Integer.valueOf(40), set.higher(30));
+        Assert.assertEquals(asList(40, 30), new ArrayList<>(set.descendingSet().headSet(20)));
+    }
+
+    @Test
+    public void test03_wrongType() throws IOException {
+        MappedArraySet.write(file, new TreeSet<>(asList(1L, 2L)));
+        corrupt("element type", buffer -> {
+        }, Integer.class);
+    }
+
+    @Test
+    public void test04_corruptHeader() throws IOException {
+        for (final Class<?> type : asList(Integer.class, String.class)) {
+            MappedArraySet.write(file, type == Integer.class ? new TreeSet<>(asList(1, 2, 3)) : new TreeSet<>(asList("a", "b", "c")));
+            final long size = Files.size(file);
+            corrupt("magic", buffer -> buffer.putInt(0, 0), type);
+            corrupt("version", buffer -> buffer.putInt(4, 2), type);
+            corrupt("type", buffer -> buffer.putInt(8, 7), type);
+            corrupt("negative size", buffer -> buffer.putInt(12, -1), type);
+            corrupt("huge size", buffer -> buffer.putInt(12, Integer.MAX_VALUE), type);
+            corrupt("negative data offset", buffer -> buffer.putLong(16, -8), type);
+            corrupt("misaligned data offset", buffer -> buffer.putLong(16, 4097), type);
+            corrupt("data offset past end", buffer -> buffer.putLong(16, size), type);
+            corrupt("overflowing data offset", buffer -> buffer.putLong(16, Long.MAX_VALUE & ~7), type);
+            if (type == String.class) {
+                corrupt("negative records offset", buffer -> buffer.putLong(24, -8), type);
+                corrupt("records offset inside data", buffer -> buffer.putLong(24, 4096), type);
+                corrupt("records offset past end", buffer -> buffer.putLong(24, size + 8), type);
+            }
+        }
+    }
+
+    @Test
+    public void test05_truncated() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3});
+        try {
+            MappedArraySet.map(file, Integer.class);
+            Assert.fail("Truncated file should be rejected");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(file.toString()));
+        }
+    }
+
+    private <E> void check(final SortedSet<E> expected, final Class<E> type) throws IOException {
+        MappedArraySet.write(file, expected);
+        final MappedArraySet<E> set = MappedArraySet.map(file, type);
+        Assert.assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        for (final E e : expected) {
+            Assert.assertTrue(set.contains(e));
+        }
+    }
+
+    private void corrupt(final String what, final HeaderPatch patch, final Class<?> type) throws IOException {
+        final byte[] original = Files.readAllBytes(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            patch.apply(header);
+            header.clear();
+            channel.write(header, 0);
+        }
+        try {
+            MappedArraySet.map(file, type);
+            Assert.fail("Corrupted " + what + " should be rejected");
+        } catch (final IOException e) {
+            Assert.assertTrue(what + ": " + e.getMessage(), e.getMessage().contains(file.toString()));
+        } finally {
+            Files.write(file, original);
+        }
+    }
+
+    private interface HeaderPatch {
+        void apply(ByteBuffer header);
+    }
+}
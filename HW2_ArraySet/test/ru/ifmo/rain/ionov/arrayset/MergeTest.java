@@ -0,0 +1,85 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MergeTest {
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Test
+    public void test01_union() {
+        Assert.assertEquals(asList(1, 2, 3, 5, 8), Merge.union(asList(1, 3, 5), asList(2, 3, 8), null));
+        Assert.assertEquals(asList(1, 2), Merge.union(asList(1, 2), Collections.emptyList(), null));
+        Assert.assertEquals(asList(1, 2), Merge.union(Collections.emptyList(), asList(1, 2), null));
+    }
+
+    @Test
+    public void test02_difference() {
+        Assert.assertEquals(asList(1, 5), Merge.difference(asList(1, 3, 5), asList(2, 3, 8), null));
+        Assert.assertEquals(asList(1, 2), Merge.difference(asList(1, 2), Collections.emptyList(), null));
+        Assert.assertEquals(Collections.emptyList(), Merge.difference(Collections.emptyList(), asList(1, 2), null));
+    }
+
+    @Test
+    public void test03_intersection() {
+        Assert.assertEquals(asList(3), Merge.intersection(asList(1, 3, 5), asList(2, 3, 8), null));
+        Assert.assertEquals(Collections.emptyList(), Merge.intersection(asList(1, 2), Collections.emptyList(), null));
+    }
+
+    @Test
+    public void test04_containsAll() {
+        Assert.assertTrue(Merge.containsAll(asList(1, 3, 5), asList(1, 5), null));
+        Assert.assertTrue(Merge.containsAll(asList(1, 3, 5), Collections.emptyList(), null));
+        Assert.assertFalse(Merge.containsAll(asList(1, 3, 5), asList(2), null));
+        Assert.assertFalse(Merge.containsAll(asList(1, 3, 5), asList(5, 6), null));
+    }
+
+    @Test
+    public void test05_nullsFirst() {
+        Assert.assertEquals(asList(null, 1, 5), Merge.union(asList(null, 1), asList(5), NULLS_FIRST));
+        Assert.assertEquals(asList(null, 1, 5), Merge.union(asList(5), asList(null, 1), NULLS_FIRST));
+        Assert.assertEquals(asList(null, 2), Merge.difference(asList(null, 1, 2), asList(1), NULLS_FIRST));
+        Assert.assertEquals(asList(1), Merge.difference(asList(null, 1), asList(null, 2), NULLS_FIRST));
+        Assert.assertEquals(asList(null, 2), Merge.intersection(asList(null, 1, 2), asList(null, 2), NULLS_FIRST));
+        Assert.assertTrue(Merge.containsAll(asList(null, 1, 2), asList(null, 2), NULLS_FIRST));
+        Assert.assertFalse(Merge.containsAll(asList(1, 2), asList((Integer) null), NULLS_FIRST));
+    }
+
+    @Test
+    public void test06_random() {
+        final Random random = new Random(2350238475230489753L);
+        for (int i = 0; i < 1000; i++) {
+            final TreeSet<Integer> a = randomSet(random);
+            final TreeSet<Integer> b = randomSet(random);
+
+            final TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+            Assert.assertEquals(new ArrayList<>(union), Merge.union(a, b, null));
+
+            final TreeSet<Integer> difference = new TreeSet<>(a);
+            difference.removeAll(b);
+            Assert.assertEquals(new ArrayList<>(difference), Merge.difference(a, b, null));
+
+            final TreeSet<Integer> intersection = new TreeSet<>(a);
+            intersection.retainAll(b);
+            Assert.assertEquals(new ArrayList<>(intersection), Merge.intersection(a, b, null));
+
+            Assert.assertEquals(a.containsAll(b), Merge.containsAll(a, b, null));
+        }
+    }
+
+    private static TreeSet<Integer> randomSet(final Random random) {
+        final TreeSet<Integer> set = new TreeSet<>();
+        for (int size = random.nextInt(20); set.size() < size; ) {
+            set.add(random.nextInt(30));
+        }
+        return set;
+    }
+}
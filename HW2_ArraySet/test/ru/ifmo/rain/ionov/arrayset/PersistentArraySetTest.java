@@ -0,0 +1,95 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PersistentArraySetTest {
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Test
+    public void test01_withAll() {
+        final PersistentArraySet<Integer> set = new PersistentArraySet<>(asList(3, 1, 2));
+        final PersistentArraySet<Integer> updated = set.withAll(asList(5, 2, 0));
+        Assert.assertEquals(asList(1, 2, 3), new ArrayList<>(set));
+        Assert.assertEquals(asList(0, 1, 2, 3, 5), new ArrayList<>(updated));
+        Assert.assertEquals(5, updated.size());
+    }
+
+    @Test
+    public void test02_withoutAll() {
+        final PersistentArraySet<Integer> set = new PersistentArraySet<>(asList(1, 2, 3, 4));
+        final PersistentArraySet<Integer> updated = set.withoutAll(asList(2, 4, 6));
+        Assert.assertEquals(asList(1, 2, 3, 4), new ArrayList<>(set));
+        Assert.assertEquals(asList(1, 3), new ArrayList<>(updated));
+        Assert.assertFalse(updated.contains(2));
+        Assert.assertTrue(updated.contains(3));
+    }
+
+    @Test
+    public void test03_buffered() {
+        final List<Integer> expected = new ArrayList<>(asList(10, 20, 30, 40));
+        PersistentArraySet<Integer> set = new PersistentArraySet<>(expected, null, 4);
+        set = set.withAll(asList(15)).withoutAll(asList(30)).withAll(asList(30, 35)).withoutAll(asList(10));
+        Assert.assertEquals(asList(15, 20, 30, 35, 40), new ArrayList<>(set));
+        Assert.assertEquals(Integer.valueOf(15), set.first());
+        Assert.assertEquals(Integer.valueOf(40), set.last());
+        Assert.assertEquals(Integer.valueOf(20), set.floor(25));
+        Assert.assertEquals(Integer.valueOf(30), set.ceiling(25));
+        Assert.assertEquals(Integer.valueOf(35), set.higher(30));
+        Assert.assertEquals(Integer.valueOf(15), set.lower(20));
+        Assert.assertNull(set.lower(15));
+        Assert.assertEquals(asList(40, 35, 30, 20, 15), new ArrayList<>(set.descendingSet()));
+        Assert.assertEquals(asList(20, 30), new ArrayList<>(set.subSet(16, 31)));
+        Assert.assertEquals(asList(15, 20, 30, 35, 40), new ArrayList<>(set.compact()));
+    }
+
+    @Test
+    public void test04_nullsFirst() {
+        final PersistentArraySet<Integer> set = new PersistentArraySet<>(asList(null, 1), NULLS_FIRST);
+        Assert.assertEquals(asList(null, 1, 5), new ArrayList<>(set.withAll(asList(5))));
+        Assert.assertEquals(asList(1), new ArrayList<>(set.withoutAll(asList((Integer) null))));
+
+        final PersistentArraySet<Integer> buffered = new PersistentArraySet<>(asList(1, 2), NULLS_FIRST, 4).withAll(asList((Integer) null));
+        Assert.assertEquals(asList(null, 1, 2), new ArrayList<>(buffered));
+        Assert.assertEquals(3, buffered.size());
+        Assert.assertNull(buffered.first());
+        Assert.assertTrue(buffered.contains(null));
+        Assert.assertEquals(Integer.valueOf(1), buffered.higher(null));
+        Assert.assertEquals(asList(null, 1), new ArrayList<>(buffered.headSet(2)));
+    }
+
+    @Test
+    public void test05_random() {
+        final Random random = new Random(8045702385702345L);
+        for (int buffer = 0; buffer <= 8; buffer += 4) {
+            PersistentArraySet<Integer> set = new PersistentArraySet<>(Collections.emptyList(), null, buffer);
+            final TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 1000; i++) {
+                final List<Integer> delta = new ArrayList<>();
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    delta.add(random.nextInt(100));
+                }
+                if (random.nextBoolean()) {
+                    set = set.withAll(delta);
+                    expected.addAll(delta);
+                } else {
+                    set = set.withoutAll(delta);
+                    expected.removeAll(delta);
+                }
+                final Integer key = random.nextInt(100);
+                Assert.assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+                Assert.assertEquals(expected.floor(key), set.floor(key));
+                Assert.assertEquals(expected.ceiling(key), set.ceiling(key));
+                Assert.assertEquals(expected.lower(key), set.lower(key));
+                Assert.assertEquals(expected.higher(key), set.higher(key));
+            }
+        }
+    }
+}
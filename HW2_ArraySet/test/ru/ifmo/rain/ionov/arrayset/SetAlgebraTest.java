@@ -0,0 +1,88 @@
+package ru.ifmo.rain.ionov.arrayset;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SetAlgebraTest {
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Test
+    public void test01_union() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(1, 3, 5));
+        Assert.assertEquals(asList(1, 2, 3, 5, 8), new ArrayList<>(set.union(asList(8, 3, 2))));
+        Assert.assertEquals(asList(1, 3, 5), new ArrayList<>(set.union(Collections.emptyList())));
+    }
+
+    @Test
+    public void test02_intersection() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(1, 3, 5));
+        Assert.assertEquals(asList(3, 5), new ArrayList<>(set.intersection(asList(5, 3, 2))));
+        Assert.assertEquals(Collections.emptyList(), new ArrayList<>(set.intersection(Collections.emptyList())));
+    }
+
+    @Test
+    public void test03_difference() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(1, 3, 5));
+        Assert.assertEquals(asList(1), new ArrayList<>(set.difference(asList(5, 3, 2))));
+        Assert.assertEquals(asList(1, 3, 5), new ArrayList<>(set.difference(Collections.emptyList())));
+    }
+
+    @Test
+    public void test04_containsAll() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(1, 3, 5));
+        Assert.assertTrue(set.containsAll(new ArraySet<>(asList(1, 5))));
+        Assert.assertFalse(set.containsAll(new ArraySet<>(asList(1, 4))));
+        Assert.assertTrue(set.containsAll(asList(5, 1)));
+    }
+
+    @Test
+    public void test05_nullsFirst() {
+        final ArraySet<Integer> set = new ArraySet<>(asList(null, 1, 2), NULLS_FIRST);
+        Assert.assertEquals(asList(null, 1, 2, 3), new ArrayList<>(set.union(asList(3))));
+        Assert.assertEquals(asList(null, 2), new ArrayList<>(set.intersection(asList(null, 2))));
+        Assert.assertEquals(asList(null, 2), new ArrayList<>(set.difference(asList(1))));
+        Assert.assertEquals(asList(1, 2), new ArrayList<>(set.difference(asList((Integer) null))));
+        Assert.assertTrue(set.containsAll(new ArraySet<>(asList(null, 2), NULLS_FIRST)));
+    }
+
+    @Test
+    public void test06_random() {
+        final Random random = new Random(3478563485763485L);
+        for (int i = 0; i < 500; i++) {
+            final TreeSet<Integer> a = randomSet(random, 1 << random.nextInt(10));
+            final TreeSet<Integer> b = randomSet(random, 1 << random.nextInt(10));
+            final ArraySet<Integer> set = new ArraySet<>(a);
+            final ArraySet<Integer> other = new ArraySet<>(b);
+
+            final TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+            Assert.assertEquals(new ArrayList<>(union), new ArrayList<>(set.union(other)));
+
+            final TreeSet<Integer> intersection = new TreeSet<>(a);
+            intersection.retainAll(b);
+            Assert.assertEquals(new ArrayList<>(intersection), new ArrayList<>(set.intersection(other)));
+
+            final TreeSet<Integer> difference = new TreeSet<>(a);
+            difference.removeAll(b);
+            Assert.assertEquals(new ArrayList<>(difference), new ArrayList<>(set.difference(other)));
+
+            Assert.assertEquals(a.containsAll(intersection), set.containsAll(new ArraySet<>(intersection)));
+            Assert.assertEquals(a.containsAll(b), set.containsAll(other));
+        }
+    }
+
+    private static TreeSet<Integer> randomSet(final Random random, final int size) {
+        final TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(random.nextInt(1000));
+        }
+        return set;
+    }
+}